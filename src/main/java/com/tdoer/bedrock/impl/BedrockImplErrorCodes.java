@@ -103,4 +103,22 @@ public interface BedrockImplErrorCodes extends BedrockErrorCodes {
     @ReasonPhrase("Application definition not found of Id: {}")
     int APPLICATION_NOT_FOUND = 5227;
 
+    @ReasonPhrase("Failed to load context bundle for the context domain {0}")
+    int FAILED_TO_LOAD_CONTEXT_BUNDLE = 5228;
+
+    @ReasonPhrase("Failed to load client configurations for the product domain {0}")
+    int FAILED_TO_LOAD_CLIENT_CONFIG = 5229;
+
+    @ReasonPhrase("Failed to load user roles for {0}")
+    int FAILED_TO_LOAD_USER_ROLES = 5230;
+
+    @ReasonPhrase("Failed to decide access for {0}")
+    int FAILED_TO_DECIDE_ACCESS = 5231;
+
+    @ReasonPhrase("Product rental not found for the product ({0}) and tenant ({1})")
+    int PRODUCT_RENTAL_NOT_FOUND = 5232;
+
+    @ReasonPhrase("Tenant client not found for the client ({0}) and tenant ({1})")
+    int TENANT_CLIENT_NOT_FOUND = 5233;
+
 }
@@ -17,7 +17,9 @@ package com.tdoer.bedrock.impl.application;
 
 import com.tdoer.bedrock.ProviderFailedException;
 import com.tdoer.bedrock.application.ApplicationNotFoundException;
+import com.tdoer.bedrock.context.ContextPath;
 import com.tdoer.bedrock.context.ContextPathParser;
+import com.tdoer.bedrock.impl.definition.DomainDefinition;
 import com.tdoer.bedrock.impl.definition.application.ActionDefinition;
 import com.tdoer.bedrock.impl.definition.application.ApplicationDefinition;
 import com.tdoer.bedrock.impl.definition.application.ApplicationServiceDefinition;
@@ -30,7 +32,10 @@ import com.tdoer.bedrock.impl.service.DefaultServiceRepository;
 import org.springframework.util.Assert;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 import static com.tdoer.bedrock.impl.BedrockImplErrorCodes.APPLICATION_NOT_FOUND;
 import static com.tdoer.bedrock.impl.BedrockImplErrorCodes.FAILED_TO_LOAD_APPLICATION;
@@ -85,13 +90,21 @@ public class ApplicationLoader {
     public DefaultPage[] loadPages(ApplicationDomain applicationDomain){
         ApplicationDomain ad = applicationDomain;
         List<PageDefinition> list = applicationProvider.getPageDefinitions(ad.getApplicationId(), ad.getProductId(), ad.getClientId(),ad.getTenantId(), ad.getContextPath());
-        ArrayList<DefaultPage> pageList = new ArrayList<>(list.size());
-        if(list != null){
+        ArrayList<DefaultPage> pageList = new ArrayList<>(list == null ? 0 : list.size());
+        if(list != null && list.size() > 0){
+            // load service methods of all pages at once
+            ArrayList<Long> pageIds = new ArrayList<>(list.size());
+            for(PageDefinition pageDefinition : list){
+                pageIds.add(pageDefinition.getId());
+            }
+            Map<Long, List<Long>> smdsOfPages = applicationProvider.getServiceMethodIdsOfPages(ad.getApplicationId(), pageIds);
+            Map<Long, DefaultServiceMethod> found = getServiceMethods(smdsOfPages);
+
             for(PageDefinition pageDefinition : list){
-                List<Long> smds = applicationProvider.getServiceMethodIdsOfPage(ad.getApplicationId(), pageDefinition.getId());
+                List<Long> smds = smdsOfPages.get(pageDefinition.getId());
                 DefaultServiceMethod[] methods = null;
                 if(smds != null){
-                    methods = parseServiceMethods(smds);
+                    methods = parseServiceMethods(smds, found);
                 }
 
                 try{
@@ -110,13 +123,17 @@ public class ApplicationLoader {
     public DefaultAction[] loadActions(ApplicationDomain applicationDomain){
         ApplicationDomain ad = applicationDomain;
         List<ActionDefinition> list = applicationProvider.getActionDefinitions(ad.getApplicationId(), ad.getProductId(), ad.getClientId(),ad.getTenantId(), ad.getContextPath());
-        ArrayList<DefaultAction> actionList = new ArrayList<>(list.size());
-        if(list != null){
+        ArrayList<DefaultAction> actionList = new ArrayList<>(list == null ? 0 : list.size());
+        if(list != null && list.size() > 0){
+            // load service methods of all actions at once
+            Map<Long, List<Long>> smdsOfActions = applicationProvider.getServiceMethodIdsOfActions(ad.getApplicationId(), list);
+            Map<Long, DefaultServiceMethod> found = getServiceMethods(smdsOfActions);
+
             for(ActionDefinition actionDefinition : list){
-                List<Long> smds = applicationProvider.getServiceMethodIdsOfAction(ad.getApplicationId(), actionDefinition.getPageId(), actionDefinition.getId());
+                List<Long> smds = smdsOfActions.get(actionDefinition.getId());
                 DefaultServiceMethod[] methods = null;
                 if(smds != null){
-                    methods = parseServiceMethods(smds);
+                    methods = parseServiceMethods(smds, found);
                 }
 
                 try{
@@ -132,11 +149,28 @@ public class ApplicationLoader {
         return ret;
     }
 
+    /**
+     * Get service methods of all the method Id lists in one pass
+     */
+    protected Map<Long, DefaultServiceMethod> getServiceMethods(Map<Long, List<Long>> smdsMap){
+        LinkedHashSet<Long> methodIds = new LinkedHashSet<>();
+        for(List<Long> smds : smdsMap.values()){
+            if(smds != null){
+                methodIds.addAll(smds);
+            }
+        }
+        return methodIds.isEmpty() ? Collections.<Long, DefaultServiceMethod>emptyMap() : serviceRepository.getServiceMethods(methodIds);
+    }
 
     protected DefaultServiceMethod[] parseServiceMethods(List<Long> smds){
+        return parseServiceMethods(smds, serviceRepository.getServiceMethods(smds));
+    }
+
+    protected DefaultServiceMethod[] parseServiceMethods(List<Long> smds, Map<Long, DefaultServiceMethod> found){
         ArrayList<DefaultServiceMethod> methodList = new ArrayList<>(smds.size());
         for(Long methodId : smds){
-            DefaultServiceMethod method = serviceRepository.getServiceMethod(methodId);
+            // methods failed to load are absent, get it again to throw the error
+            DefaultServiceMethod method = found.containsKey(methodId) ? found.get(methodId) : serviceRepository.getServiceMethod(methodId);
             if(method == null){
                 // todo
             }else{
@@ -168,4 +202,35 @@ public class ApplicationLoader {
         serviceList.toArray(ret);
         return ret;
     }
+
+    public List<ApplicationDomain> loadPageDomains(){
+        return buildApplicationDomains(applicationProvider.getPageDomains());
+    }
+
+    public List<ApplicationDomain> loadActionDomains(){
+        return buildApplicationDomains(applicationProvider.getActionDomains());
+    }
+
+    public List<ApplicationDomain> loadServiceDomains(){
+        return buildApplicationDomains(applicationProvider.getApplicationServiceDomains());
+    }
+
+    protected List<ApplicationDomain> buildApplicationDomains(List<DomainDefinition> definitions){
+        if(definitions == null){
+            return null;
+        }
+
+        ArrayList<ApplicationDomain> list = new ArrayList<>(definitions.size());
+        for(DomainDefinition definition : definitions){
+            String cp = definition.getContextPath();
+            ContextPath contextPath = (cp == null || cp.length() == 0) ? null : contextPathParser.parse(cp);
+            Long tenantId = definition.getTenantId();
+            list.add(new ApplicationDomain(definition.getOwnerId(), definition.getProductId(), definition.getClientId(), tenantId == null ? 0L : tenantId, contextPath));
+            if(tenantId == null || tenantId == 0){
+                // for all tenants, which is looked up with null tenant Id as well
+                list.add(new ApplicationDomain(definition.getOwnerId(), definition.getProductId(), definition.getClientId(), null, contextPath));
+            }
+        }
+        return list;
+    }
 }
@@ -22,10 +22,14 @@ import com.tdoer.bedrock.context.ContextPath;
 import com.tdoer.bedrock.impl.cache.CachePolicy;
 import com.tdoer.bedrock.impl.cache.DormantCacheCleaner;
 import com.tdoer.bedrock.impl.domain.ApplicationDomain;
+import com.tdoer.bedrock.impl.domain.DomainInterner;
+import com.tdoer.bedrock.impl.domain.MergedViewCacheManager;
+import com.tdoer.bedrock.impl.domain.OverrideIndex;
 import com.tdoer.bedrock.impl.service.DefaultService;
 import com.tdoer.bedrock.service.Service;
 import org.springframework.util.Assert;
 
+import java.util.Collection;
 import java.util.List;
 /**
  * @author Htinker Hu (htinker@163.com)
@@ -33,14 +37,22 @@ import java.util.List;
  */
 public class DefaultApplicationRepository implements ApplicationRepository {
 
+    private final DomainInterner<ApplicationDomain> applicationDomains = new DomainInterner<>();
+
     protected ApplicationCacheManager applicationCacheManager;
 
     protected PagesCacheManager pagesCacheManager;
 
+    protected MergedViewCacheManager<ApplicationDomain, DefaultPage> pagesViewCacheManager;
+
     protected ActionsCacheManager actionsCacheManager;
 
+    protected MergedViewCacheManager<ApplicationDomain, DefaultAction> actionsViewCacheManager;
+
     protected ServicesCacheManager servicesCacheManager;
 
+    protected MergedViewCacheManager<ApplicationDomain, DefaultService> servicesViewCacheManager;
+
     public DefaultApplicationRepository(ApplicationLoader applicationLoader, CachePolicy cachePolicy, DormantCacheCleaner cleaner) {
         Assert.notNull(applicationLoader, "ApplicationLoader cannot be null");
         Assert.notNull(cachePolicy, "CachePolicy cannot be null");
@@ -56,6 +68,34 @@ public class DefaultApplicationRepository implements ApplicationRepository {
         applicationCacheManager.initialize();
         pagesCacheManager.initialize();
         actionsCacheManager.initialize();
+
+        // Merged views over the domain lookup chains
+        pagesViewCacheManager = new MergedViewCacheManager<>(cachePolicy, cleaner, pagesCacheManager, applicationDomains, DefaultPage.class);
+        actionsViewCacheManager = new MergedViewCacheManager<>(cachePolicy, cleaner, actionsCacheManager, applicationDomains, DefaultAction.class);
+        servicesViewCacheManager = new MergedViewCacheManager<>(cachePolicy, cleaner, servicesCacheManager, applicationDomains, DefaultService.class);
+        pagesViewCacheManager.initialize();
+        actionsViewCacheManager.initialize();
+        servicesViewCacheManager.initialize();
+
+        // Override indexes to skip the levels without definitions
+        pagesViewCacheManager.setOverrideIndex(new OverrideIndex<ApplicationDomain>("PageDomains") {
+            @Override
+            protected Collection<ApplicationDomain> loadDomains() {
+                return applicationLoader.loadPageDomains();
+            }
+        });
+        actionsViewCacheManager.setOverrideIndex(new OverrideIndex<ApplicationDomain>("ActionDomains") {
+            @Override
+            protected Collection<ApplicationDomain> loadDomains() {
+                return applicationLoader.loadActionDomains();
+            }
+        });
+        servicesViewCacheManager.setOverrideIndex(new OverrideIndex<ApplicationDomain>("ApplicationServiceDomains") {
+            @Override
+            protected Collection<ApplicationDomain> loadDomains() {
+                return applicationLoader.loadServiceDomains();
+            }
+        });
         servicesCacheManager.initialize();
     }
 
@@ -76,16 +116,12 @@ public class DefaultApplicationRepository implements ApplicationRepository {
      */
     @Override
     public void listPages(String applicationId, String productId, String clientId, Long tenantId, ContextPath contextPath, List<Page> list) {
-        ApplicationDomain domain = new ApplicationDomain(applicationId, productId, clientId, tenantId, contextPath);
-        do{
-            DefaultPage[] pages = pagesCacheManager.getSource(domain);
-            if(pages != null){
-                for(DefaultPage pg : pages){
-                    list.add(pg);
-                }
+        DefaultPage[] pages = pagesViewCacheManager.getSource(new ApplicationDomain(applicationId, productId, clientId, tenantId, contextPath));
+        if(pages != null){
+            for(DefaultPage pg : pages){
+                list.add(pg);
             }
-            domain = domain.nextLookup();
-        }while(domain != null);
+        }
 
     }
 
@@ -102,18 +138,14 @@ public class DefaultApplicationRepository implements ApplicationRepository {
      */
     @Override
     public void listActions(Long pageId, String applicationId, String productId, String clientId, Long tenantId, ContextPath contextPath, List<Action> list) {
-        ApplicationDomain domain = new ApplicationDomain(applicationId, productId, clientId, tenantId, contextPath);
-        do{
-            DefaultAction[] actions = actionsCacheManager.getSource(domain);
-            if(actions != null){
-                for(DefaultAction action : actions){
-                    if(action.getPageId().equals(pageId)){
-                        list.add(action);
-                    }
+        DefaultAction[] actions = actionsViewCacheManager.getSource(new ApplicationDomain(applicationId, productId, clientId, tenantId, contextPath));
+        if(actions != null){
+            for(DefaultAction action : actions){
+                if(action.getPageId().equals(pageId)){
+                    list.add(action);
                 }
             }
-            domain = domain.nextLookup();
-        }while(domain != null);
+        }
     }
 
     /**
@@ -128,15 +160,11 @@ public class DefaultApplicationRepository implements ApplicationRepository {
      */
     @Override
     public void listServices(String applicationId, String productId, String clientId, Long tenantId, ContextPath contextPath, List<Service> list) {
-        ApplicationDomain domain = new ApplicationDomain(applicationId, productId, clientId, tenantId, contextPath);
-        do{
-            DefaultService[] services = servicesCacheManager.getSource(domain);
-            if(services != null){
-                for(DefaultService service : services){
-                    list.add(service);
-                }
+        DefaultService[] services = servicesViewCacheManager.getSource(new ApplicationDomain(applicationId, productId, clientId, tenantId, contextPath));
+        if(services != null){
+            for(DefaultService service : services){
+                list.add(service);
             }
-            domain = domain.nextLookup();
-        }while(domain != null);
+        }
     }
 }
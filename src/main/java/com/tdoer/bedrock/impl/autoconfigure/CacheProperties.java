@@ -0,0 +1,412 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.autoconfigure;
+
+import com.tdoer.bedrock.impl.cache.CacheExecutor;
+import com.tdoer.bedrock.impl.cache.CachePolicy;
+import com.tdoer.bedrock.impl.cache.PlatformCacheExecutor;
+import com.tdoer.bedrock.impl.cache.RefreshMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache configuration, a default cache policy plus policies of specific cache managers,
+ * for example:
+ * <pre>
+ * bedrock.cache.clean-interval=120000
+ * bedrock.cache.policy.cache-duration=300000
+ * bedrock.cache.policy.dormant-duration=1800000
+ * bedrock.cache.policy.negative-cache-duration=60000
+ * bedrock.cache.policy.error-cache-duration=5000
+ * bedrock.cache.policy.max-error-cache-duration=300000
+ * bedrock.cache.managers.ServiceCacheManager.cache-duration=3600000
+ * bedrock.cache.managers.TokenConfigCacheManager.cache-duration=60000
+ * bedrock.cache.managers.TenantClientCacheManagerByHost.maximum-size=20000
+ * bedrock.cache.executor.concurrency=8
+ * bedrock.cache.executor.virtual-threads=true
+ * bedrock.cache.access-decision-cache=true
+ * </pre>
+ * A cache manager's policy inherits the settings it doesn't specify from the default policy.
+ * Durations are in milliseconds.
+ *
+ * @create 2026-10-18
+ */
+@ConfigurationProperties(prefix = "bedrock.cache")
+public class CacheProperties {
+
+    /**
+     * Interval to clean dormant cache entities
+     */
+    private long cleanInterval = 2*60*1000;
+
+    /**
+     * Default cache policy
+     */
+    private Policy policy = new Policy();
+
+    /**
+     * Cache policies of specific cache managers, keyed by cache manager's name,
+     * that's, its simple class name
+     */
+    private Map<String, Policy> managers = new HashMap<>();
+
+    /**
+     * Executor in which cache managers load sources in background
+     */
+    private ExecutorSettings executor = new ExecutorSettings();
+
+    /**
+     * Whether to cache decisions of service method access checks
+     */
+    private boolean accessDecisionCache = false;
+
+    public CacheProperties() {
+        policy.setCacheDuration(5*60*1000L);
+        policy.setDormantDuration(30*60*1000L);
+        policy.setNegativeCacheDuration(60*1000L);
+        policy.setErrorCacheDuration(5*1000L);
+        policy.setMaxErrorCacheDuration(5*60*1000L);
+    }
+
+    public long getCleanInterval() {
+        return cleanInterval;
+    }
+
+    public void setCleanInterval(long cleanInterval) {
+        this.cleanInterval = cleanInterval;
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    public void setPolicy(Policy policy) {
+        this.policy = policy;
+    }
+
+    public Map<String, Policy> getManagers() {
+        return managers;
+    }
+
+    public void setManagers(Map<String, Policy> managers) {
+        this.managers = managers;
+    }
+
+    public ExecutorSettings getExecutor() {
+        return executor;
+    }
+
+    public void setExecutor(ExecutorSettings executor) {
+        this.executor = executor;
+    }
+
+    public boolean isAccessDecisionCache() {
+        return accessDecisionCache;
+    }
+
+    public void setAccessDecisionCache(boolean accessDecisionCache) {
+        this.accessDecisionCache = accessDecisionCache;
+    }
+
+    /**
+     * Build the cache executor, on virtual threads if enabled and supported by the JVM
+     *
+     * @return the cache executor
+     */
+    public CacheExecutor buildCacheExecutor(){
+        if(executor.isVirtualThreads()){
+            return CacheExecutor.create(executor.getThreadName(), executor.getConcurrency(), executor.getCapacity());
+        }
+        return new PlatformCacheExecutor(executor.getThreadName(), executor.getConcurrency(), executor.getCapacity());
+    }
+
+    /**
+     * Build the default cache policy
+     *
+     * @return the default cache policy
+     */
+    public CachePolicy buildDefaultPolicy(){
+        CachePolicy ret = new CachePolicy(cleanInterval, 5*60*1000, 30*60*1000);
+        policy.applyTo(ret);
+        return ret;
+    }
+
+    /**
+     * Build cache policies of specific cache managers, based on the default policy
+     *
+     * @param defaultPolicy the default policy
+     * @return cache policies keyed by cache manager's name
+     */
+    public Map<String, CachePolicy> buildManagerPolicies(CachePolicy defaultPolicy){
+        HashMap<String, CachePolicy> ret = new HashMap<>(managers.size());
+        for(Map.Entry<String, Policy> entry : managers.entrySet()){
+            CachePolicy cp = new CachePolicy(defaultPolicy);
+            entry.getValue().applyTo(cp);
+            ret.put(entry.getKey(), cp);
+        }
+        return ret;
+    }
+
+    /**
+     * Settings of a cache policy, unset ones are inherited
+     */
+    public static class Policy {
+        private Long cacheDuration;
+        private Long dormantDuration;
+        private Long negativeCacheDuration;
+        private Long errorCacheDuration;
+        private Long maxErrorCacheDuration;
+        private Double errorBackoffMultiplier;
+        private Double errorBackoffJitter;
+        private Long staleOnErrorGracePeriod;
+        private Long maxStaleOnErrorDuration;
+        private Long cleanTimeBudget;
+        private Long maximumSize;
+        private RefreshMode refreshMode;
+        private Double refreshAheadRatio;
+        private Integer refreshAheadMinHits;
+        private Integer maxConcurrentRefreshes;
+
+        public Long getCacheDuration() {
+            return cacheDuration;
+        }
+
+        public void setCacheDuration(Long cacheDuration) {
+            this.cacheDuration = cacheDuration;
+        }
+
+        public Long getDormantDuration() {
+            return dormantDuration;
+        }
+
+        public void setDormantDuration(Long dormantDuration) {
+            this.dormantDuration = dormantDuration;
+        }
+
+        public Long getNegativeCacheDuration() {
+            return negativeCacheDuration;
+        }
+
+        public void setNegativeCacheDuration(Long negativeCacheDuration) {
+            this.negativeCacheDuration = negativeCacheDuration;
+        }
+
+        public Long getErrorCacheDuration() {
+            return errorCacheDuration;
+        }
+
+        public void setErrorCacheDuration(Long errorCacheDuration) {
+            this.errorCacheDuration = errorCacheDuration;
+        }
+
+        public Long getMaxErrorCacheDuration() {
+            return maxErrorCacheDuration;
+        }
+
+        public void setMaxErrorCacheDuration(Long maxErrorCacheDuration) {
+            this.maxErrorCacheDuration = maxErrorCacheDuration;
+        }
+
+        public Double getErrorBackoffMultiplier() {
+            return errorBackoffMultiplier;
+        }
+
+        public void setErrorBackoffMultiplier(Double errorBackoffMultiplier) {
+            this.errorBackoffMultiplier = errorBackoffMultiplier;
+        }
+
+        public Double getErrorBackoffJitter() {
+            return errorBackoffJitter;
+        }
+
+        public void setErrorBackoffJitter(Double errorBackoffJitter) {
+            this.errorBackoffJitter = errorBackoffJitter;
+        }
+
+        public Long getStaleOnErrorGracePeriod() {
+            return staleOnErrorGracePeriod;
+        }
+
+        public void setStaleOnErrorGracePeriod(Long staleOnErrorGracePeriod) {
+            this.staleOnErrorGracePeriod = staleOnErrorGracePeriod;
+        }
+
+        public Long getMaxStaleOnErrorDuration() {
+            return maxStaleOnErrorDuration;
+        }
+
+        public void setMaxStaleOnErrorDuration(Long maxStaleOnErrorDuration) {
+            this.maxStaleOnErrorDuration = maxStaleOnErrorDuration;
+        }
+
+        public Long getCleanTimeBudget() {
+            return cleanTimeBudget;
+        }
+
+        public void setCleanTimeBudget(Long cleanTimeBudget) {
+            this.cleanTimeBudget = cleanTimeBudget;
+        }
+
+        public Long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(Long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public RefreshMode getRefreshMode() {
+            return refreshMode;
+        }
+
+        public void setRefreshMode(RefreshMode refreshMode) {
+            this.refreshMode = refreshMode;
+        }
+
+        public Double getRefreshAheadRatio() {
+            return refreshAheadRatio;
+        }
+
+        public void setRefreshAheadRatio(Double refreshAheadRatio) {
+            this.refreshAheadRatio = refreshAheadRatio;
+        }
+
+        public Integer getRefreshAheadMinHits() {
+            return refreshAheadMinHits;
+        }
+
+        public void setRefreshAheadMinHits(Integer refreshAheadMinHits) {
+            this.refreshAheadMinHits = refreshAheadMinHits;
+        }
+
+        public Integer getMaxConcurrentRefreshes() {
+            return maxConcurrentRefreshes;
+        }
+
+        public void setMaxConcurrentRefreshes(Integer maxConcurrentRefreshes) {
+            this.maxConcurrentRefreshes = maxConcurrentRefreshes;
+        }
+
+        /**
+         * Apply the settings to a cache policy
+         *
+         * @param cachePolicy cache policy to apply to
+         */
+        public void applyTo(CachePolicy cachePolicy){
+            if(cacheDuration != null){
+                cachePolicy.setCacheDuration(cacheDuration);
+            }
+            if(dormantDuration != null){
+                cachePolicy.setAllowedDormantDuration(dormantDuration);
+            }
+            if(negativeCacheDuration != null){
+                cachePolicy.setNegativeCacheDuration(negativeCacheDuration);
+            }
+            if(errorCacheDuration != null){
+                cachePolicy.setErrorCacheDuration(errorCacheDuration);
+            }
+            if(maxErrorCacheDuration != null){
+                cachePolicy.setMaxErrorCacheDuration(maxErrorCacheDuration);
+            }
+            if(errorBackoffMultiplier != null){
+                cachePolicy.setErrorBackoffMultiplier(errorBackoffMultiplier);
+            }
+            if(errorBackoffJitter != null){
+                cachePolicy.setErrorBackoffJitter(errorBackoffJitter);
+            }
+            if(staleOnErrorGracePeriod != null){
+                cachePolicy.setStaleOnErrorGracePeriod(staleOnErrorGracePeriod);
+            }
+            if(maxStaleOnErrorDuration != null){
+                cachePolicy.setMaxStaleOnErrorDuration(maxStaleOnErrorDuration);
+            }
+            if(cleanTimeBudget != null){
+                cachePolicy.setCleanTimeBudget(cleanTimeBudget);
+            }
+            if(maximumSize != null){
+                cachePolicy.setMaximumSize(maximumSize);
+            }
+            if(refreshMode != null){
+                cachePolicy.setRefreshMode(refreshMode);
+            }
+            if(refreshAheadRatio != null){
+                cachePolicy.setRefreshAheadRatio(refreshAheadRatio);
+            }
+            if(refreshAheadMinHits != null){
+                cachePolicy.setRefreshAheadMinHits(refreshAheadMinHits);
+            }
+            if(maxConcurrentRefreshes != null){
+                cachePolicy.setMaxConcurrentRefreshes(maxConcurrentRefreshes);
+            }
+        }
+    }
+
+    /**
+     * Settings of the cache executor
+     */
+    public static class ExecutorSettings {
+        /**
+         * Maximum number of tasks running at the same time, i.e., threads of the platform pool
+         */
+        private int concurrency = 8;
+
+        /**
+         * Maximum number of tasks waiting to run
+         */
+        private int capacity = 1000;
+
+        /**
+         * Whether to run tasks on virtual threads, it takes effect on JDK 21+ only
+         */
+        private boolean virtualThreads = true;
+
+        private String threadName = "bedrock-cache-loader";
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+
+        public void setVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+
+        public void setThreadName(String threadName) {
+            this.threadName = threadName;
+        }
+    }
+}
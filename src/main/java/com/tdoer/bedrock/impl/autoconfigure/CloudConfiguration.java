@@ -40,6 +40,7 @@ import com.tdoer.bedrock.tenant.RentalCenter;
 import com.tdoer.bedrock.web.CloudEnvironmentParseFilterFactory;
 import com.tdoer.bedrock.web.RequestCloudEnvironmentExtractor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
@@ -51,6 +52,7 @@ import org.springframework.context.annotation.Configuration;
 
 @Configuration
 @ComponentScan("com.tdoer.bedrock.impl.cache.admin.controller")
+@EnableConfigurationProperties(CacheProperties.class)
 public class CloudConfiguration{
 
     // Below services need be declared in application
@@ -69,17 +71,22 @@ public class CloudConfiguration{
     @Autowired
     protected TenantProvider tenantProvider;
 
+    @Autowired
+    protected CacheProperties cacheProperties;
+
     
     // Default framework implementation objects
 
     @Bean
     protected CachePolicy cachePolicy(){
-        return new CachePolicy(2*60*1000,5*60*1000,30*60*1000);
+        return cacheProperties.buildDefaultPolicy();
     }
 
-    @Bean
+    @Bean(destroyMethod = "stop")
     protected DormantCacheCleaner dormantObjectCleaner(){
-        return new DormantCacheCleaner(cachePolicy());
+        DormantCacheCleaner cleaner = new DormantCacheCleaner(cachePolicy(), cacheProperties.buildCacheExecutor());
+        cleaner.setCachePolicies(cacheProperties.buildManagerPolicies(cachePolicy()));
+        return cleaner;
     }
 
     @Bean
@@ -124,7 +131,9 @@ public class CloudConfiguration{
 
     @Bean
     protected DefaultContextConfigCenter defaultContextConfigCenter(){
-        return new DefaultContextConfigCenter(contextConfigLoader(), cachePolicy(), dormantObjectCleaner());
+        DefaultContextConfigCenter center = new DefaultContextConfigCenter(contextConfigLoader(), cachePolicy(), dormantObjectCleaner());
+        center.setAccessDecisionCacheEnabled(cacheProperties.isAccessDecisionCache());
+        return center;
     }
 
     @Bean
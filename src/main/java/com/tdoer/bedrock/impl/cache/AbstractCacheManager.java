@@ -25,16 +25,46 @@ import org.springframework.util.Assert;
 
 import java.io.PrintWriter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Features of cache manager:
  * <ul>
  * <li>Source is wrapped up with {@link CacheEntity}, cache will become dormant;</li>
- * <li>To promote performance, <code>null</code> or error will also be cached to avoid loading source frequently;</li>
- * <li>Provide {@link #cleanDormantCache()} method, so that dormant cache can be cleaned periodically by outside cleaner;</li>
+ * <li>To promote performance, <code>null</code> or error will also be cached to avoid loading source frequently,
+ * with their own cache durations, and an error is cached longer each time the source fails again;</li>
+ * <li>Provide {@link #cleanDormantCache()} method, so that dormant cache can be cleaned periodically by outside cleaner.
+ * Keys are scheduled in a {@link TimingWheel} by the time their entities may become dormant, so cleaning only visits
+ * keys due, incrementally within {@link CachePolicy#getCleanTimeBudget()}, and never blocks requests;</li>
  * <li>The cache manager is {@link Manageable}, so it will be initialized and destroyed by cache manager holder;</li>  
+ * <li>Cache hits take no lock. Concurrent misses of the same key are loaded only once, by the first
+ * requesting thread, other threads wait for and share its result or error;</li>
+ * <li>Sources of many keys can be got in one pass with {@link #getSources(Collection)}, hits are served from
+ * cache and misses are loaded in bulk, see {@link #loadSources(List)};</li>
+ * <li>If the cache policy's refresh mode is {@link RefreshMode#ASYNC}, an expired source will be returned
+ * immediately while it's reloaded in the cleaner's cache executor;</li>
+ * <li>If the cache policy enables refresh-ahead, a hot source is reloaded in background before it expires,
+ * so its requests never meet an expired entity;</li>
+ * <li>If the cache policy sets a maximum size, the cache is bounded by the total weight of its entities,
+ * see {@link #weigh(Object, Object)}, entities are admitted and evicted with {@link CacheEviction Window TinyLFU};</li>
+ * <li>If the cache policy sets a stale-on-error grace period, a source failed to reload is kept and served
+ * for the grace period, then retried in background, see {@link CachePolicy#getStaleOnErrorGracePeriod()};</li>
+ * <li>Hits, misses, loads, failures and evictions are counted in {@link CacheStatistics};</li>
+ * <li>{@link CacheListener}s are notified when sources are changed, so that caches derived from them
+ * can be invalidated;</li>
  * </ul>
  * Note, the implementation must be thread-safe
  * @param <Key>
@@ -45,10 +75,51 @@ import java.util.List;
  */
 public abstract class AbstractCacheManager<Key, Source> implements CacheManager<Key, Source> {
 	protected CachePolicy cachePolicy;
-	protected HashMap<Key, CacheEntity<Source>> cache;
-	protected int status;
+	protected ConcurrentHashMap<Key, CacheEntity<Source>> cache;
+	protected volatile int status;
 	protected DormantCacheCleaner cleaner;
 	protected Logger logger = LoggerFactory.getLogger(AbstractCacheManager.class);
+
+	/**
+	 * Size based eviction, <code>null</code> if the cache is unbounded
+	 */
+	private volatile CacheEviction<Key> eviction;
+
+	/**
+	 * Guards the eviction, and the swap of it by {@link #resize(long)}, puts and removes re-read the eviction
+	 * while holding it
+	 */
+	private final Object evictionLock = new Object();
+
+	/**
+	 * Loadings in progress, one per key
+	 */
+	private final ConcurrentHashMap<Key, Loading<Source>> loadings = new ConcurrentHashMap<>();
+
+	/**
+	 * Number of background refreshes submitted and not finished yet
+	 */
+	private final AtomicInteger refreshing = new AtomicInteger();
+
+	private final CacheStatistics statistics = new CacheStatistics();
+
+	private final CopyOnWriteArrayList<CacheListener<Key>> listeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Keys scheduled by the time their cache entities may need cleaning
+	 */
+	private final TimingWheel<Key> wheel = new TimingWheel<>(WHEEL_TICK, WHEEL_SIZE, CacheClock.currentTimeMillis());
+
+	/**
+	 * The timing wheel turns a round every 1024 seconds
+	 */
+	private static final long WHEEL_TICK = 1000;
+	private static final int WHEEL_SIZE = 1024;
+
+	/**
+	 * Number of keys polled from the timing wheel at a time, time budget is checked between batches
+	 */
+	private static final int CLEAN_BATCH_SIZE = 128;
 	
 	public AbstractCacheManager(CachePolicy cachePolicy, DormantCacheCleaner cleaner){
 		Assert.notNull(cachePolicy, "CachePolicy cannot be null");
@@ -58,8 +129,13 @@ public abstract class AbstractCacheManager<Key, Source> implements CacheManager<
 	}
 	
 	@Override
-    public void initialize() throws ErrorCodeException {
-		this.cache = new HashMap<>();
+	public synchronized void initialize() throws ErrorCodeException {
+		// the policy configured for the cache manager wins, and the cache manager holds its own copy
+		this.cachePolicy = cleaner.resolveCachePolicy(getName(), cachePolicy);
+		this.cache = new ConcurrentHashMap<>();
+		if(cachePolicy.getMaximumSize() > 0){
+			this.eviction = new CacheEviction<>(cachePolicy.getMaximumSize());
+		}
 		status = Manageable.STATUS_INITIALIZED;
 		
 		if(logger.isDebugEnabled()){
@@ -71,22 +147,22 @@ public abstract class AbstractCacheManager<Key, Source> implements CacheManager<
     }
 	
 	@Override
-    public synchronized int getStatus() {
+	public int getStatus() {
 		return status;
-  }
+    }
 
 	@Override
-    public synchronized boolean isValid() {
+	public boolean isValid() {
 		return (status == Manageable.STATUS_INITIALIZED);
-  }
+    }
 	
 	@Override
     public synchronized void destroy() {
 
 		checkStatus();
 		unregister();
-  		cleanCache();
 		status = Manageable.STATUS_DESTROYED;
+        cleanCache();
 		
 		if(logger.isDebugEnabled()){
 			logger.debug("CacheManager ({}) is destroyed", this);
@@ -94,7 +170,44 @@ public abstract class AbstractCacheManager<Key, Source> implements CacheManager<
     }
 
     @Override
-    public synchronized Source getSource(Key key) throws ErrorCodeException {
+    public String getName() {
+        return getClass().getSimpleName();
+    }
+
+    @Override
+    public CachePolicy getCachePolicy() {
+        return cachePolicy;
+    }
+
+    @Override
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public synchronized void setCachePolicy(CachePolicy policy) {
+        Assert.notNull(policy, "CachePolicy cannot be null");
+
+        long oldMaximumSize = cachePolicy.getMaximumSize();
+        cachePolicy.update(policy);
+
+        if(status == Manageable.STATUS_INITIALIZED){
+            if(oldMaximumSize != policy.getMaximumSize()){
+                resize(policy.getMaximumSize());
+            }
+
+            // durations may be changed, reschedule cleaning of cached entities
+            for(Map.Entry<Key, CacheEntity<Source>> entry : cache.entrySet()){
+                scheduleClean(entry.getKey(), entry.getValue());
+            }
+        }
+
+        logger.info("Cache Manager ({}): Changed cache policy to {}", this, cachePolicy);
+    }
+
+    @Override
+    public Source getSource(Key key) throws ErrorCodeException {
+        Assert.notNull(key, "Key cannot be null");
 
         checkStatus();
 
@@ -102,235 +215,896 @@ public abstract class AbstractCacheManager<Key, Source> implements CacheManager<
             logger.debug("{}: Getting source for the request '{}'", this, key);
         }
 
-        boolean loaded = false;
-        Source ret = null;
-        CacheEntity<Source> cacheEnt = getCacheEntity(key);
-        if(cacheEnt != null && !cacheEnt.isExpired()){
+        // fast path, no lock
+        CacheEntity<Source> cacheEnt = lookup(key);
+        if(cacheEnt != null){
+            return returnCached(key, cacheEnt);
+        }
+
+        // slow path, the first thread loads the key, the others wait for it
+        Loading<Source> loading = new Loading<>();
+        Loading<Source> inflight = loadings.putIfAbsent(key, loading);
+        if(inflight != null){
+            if(inflight.owner == Thread.currentThread()){
+                // requested again while loading the key, load it directly instead of waiting for itself
+                return returnCached(key, loadOrRevalidate(key, getCacheEntity(key)));
+            }
+
             if(logger.isDebugEnabled()){
-                logger.debug("{}: Cache entity was not expired, of request '{}': {}", this, key, cacheEnt);
+                logger.debug("{}: Waiting for the loading of request '{}'", this, key);
             }
+            return returnCached(key, await(inflight));
+        }
+
+        return returnCached(key, runLoading(key, loading, null));
+    }
+
+    @Override
+    public Map<Key, Source> getSources(Collection<Key> keys) {
+        return getSources(keys, null);
+    }
+
+    /**
+     * Get sources of the keys, like {@link #getSources(Collection)}, and collect the errors of the keys failed
+     *
+     * @param keys Keys
+     * @param errors Map to put errors of the keys failed, or null to ignore them
+     * @return sources by keys, the keys failed are absent
+     */
+    public Map<Key, Source> getSources(Collection<Key> keys, Map<Key, ErrorCodeException> errors) {
+        Assert.notNull(keys, "Keys cannot be null");
 
-            if(cacheEnt.getError() != null){
-                throw cacheEnt.getError();
+        checkStatus();
+
+        if(logger.isDebugEnabled()){
+            logger.debug("{}: Getting sources for {} requests", this, keys.size());
+        }
+
+        LinkedHashSet<Key> distinct = new LinkedHashSet<>(keys);
+        HashMap<Key, CacheEntity<Source>> entities = new HashMap<>();
+        LinkedHashMap<Key, Loading<Source>> owned = new LinkedHashMap<>();
+        LinkedHashMap<Key, Loading<Source>> waiting = new LinkedHashMap<>();
+        ArrayList<Key> reentrant = new ArrayList<>();
+        for(Key key : distinct){
+            Assert.notNull(key, "Key cannot be null");
+
+            CacheEntity<Source> cacheEnt = lookup(key);
+            if(cacheEnt != null){
+                entities.put(key, cacheEnt);
+                continue;
+            }
+
+            // claim the loadings of misses, the keys being loaded by other threads are waited for
+            Loading<Source> loading = new Loading<>();
+            Loading<Source> inflight = loadings.putIfAbsent(key, loading);
+            if(inflight == null){
+                owned.put(key, loading);
+            }else if(inflight.owner == Thread.currentThread()){
+                reentrant.add(key);
             }else{
-                ret = cacheEnt.getSource();
+                waiting.put(key, inflight);
+            }
+        }
 
-                if(logger.isDebugEnabled()){
-                    logger.debug("{}: Returned cached source for the request '{}': {}", this, key, ret);
-                }
+        if(!owned.isEmpty()){
+            runLoadings(owned, entities);
+        }
+        for(Key key : reentrant){
+            entities.put(key, loadOrRevalidate(key, getCacheEntity(key)));
+        }
+        for(Map.Entry<Key, Loading<Source>> entry : waiting.entrySet()){
+            entities.put(entry.getKey(), await(entry.getValue()));
+        }
 
-                return ret;
+        LinkedHashMap<Key, Source> ret = new LinkedHashMap<>();
+        for(Key key : distinct){
+            CacheEntity<Source> cacheEnt = entities.get(key);
+            if(cacheEnt.getError() == null){
+                ret.put(key, cacheEnt.getSource());
+            }else if(errors != null){
+                errors.put(key, cacheEnt.getError());
             }
-        }else{
-            try{
-                if(cacheEnt == null){
-                    // load it
-                    ret = loadSource(key);
-                    loaded = true;
+        }
 
-                    if(logger.isDebugEnabled()){
-                        logger.debug("{}: Loaded source for the request '{}': {}", this, key, ret);
-                    }
+        if(logger.isDebugEnabled()){
+            logger.debug("{}: Returned {} sources for {} requests, {} loaded by current thread", this, ret.size(),
+                    distinct.size(), owned.size());
+        }
+        return ret;
+    }
 
-                }else{ // cache expired
-                    if(logger.isDebugEnabled()){
-                        logger.debug("{}: Cache entity was expired, of request '{}': {}", this, key, cacheEnt);
-                    }
+    /**
+     * Returns the cache entity to serve the key without loading, it's refreshed in background if it
+     * will expire soon or is served after expired, or <code>null</code> if the key must be loaded.
+     */
+    private CacheEntity<Source> lookup(Key key){
+        CacheEviction<Key> ev = eviction;
+        if(ev != null){
+            ev.recordAccess(key);
+        }
 
-                    ret = cacheEnt.getSource();
-                    if(ret != null){
-						if(ret instanceof  Modifiable){
-							if(((Modifiable)ret).isModified()){
-								// modified, reload it
-								if(logger.isDebugEnabled()){
-									logger.debug("{}: Cached source was modified, of request '{}': {}", this, key, ret);
-								}
-
-								// reload it
-								ret = reloadSource(key, ret);
-								loaded = true;
-
-								if(logger.isDebugEnabled()){
-									logger.debug("{}: Reloaded source for request '{}': {}", this, key, ret);
-								}
-							}else{
-								// not modified, refresh time
-								// refresh time
-								cacheEnt.refreshCacheTime();
-
-								if(logger.isDebugEnabled()){
-									logger.debug("{}: Cached source was not modified, refreshed cache time for request '{}': {}", this, key, cacheEnt);
-								}
-							}
-						}else{
-							// cache expired, reload it
-							ret = reloadSource(key, ret);
-							loaded = true;
+        CacheEntity<Source> cacheEnt = getCacheEntity(key);
+        if(cacheEnt != null && !cacheEnt.isExpired()){
+            if(cacheEnt.isDueForRefreshAhead()){
+                // hot source will expire soon, refresh it ahead
+                refreshAsync(key, cacheEnt);
+            }
+            statistics.recordHit();
+            return cacheEnt;
+        }
 
-							if(logger.isDebugEnabled()){
-								logger.debug("{}: Reloaded source for request '{}': {}", this, key, ret);
-							}
-						}
-                    }else{
-                        // load it
-                        ret = loadSource(key);
-                        loaded = true;
+        if(cacheEnt != null && cacheEnt.getError() == null
+                && (cachePolicy.getRefreshMode() == RefreshMode.ASYNC || isStaleServable(cacheEnt))){
+            // stale while revalidate
+            refreshAsync(key, cacheEnt);
 
-                        if(logger.isDebugEnabled()){
-                            logger.debug("{}: Reloaded source, since last failed, for request '{}': {}", this, key, ret);
-                        }
+            if(logger.isDebugEnabled()){
+                logger.debug("{}: Returned expired source for the request '{}' while refreshing it: {}", this, key, cacheEnt);
+            }
+            statistics.recordHit();
+            return cacheEnt;
+        }
+
+        statistics.recordMiss();
+        return null;
+    }
+
+    /**
+     * Can the stale source of the cache entity, kept on reloading error, still be served while it's retried?
+     */
+    private boolean isStaleServable(CacheEntity<Source> cacheEnt){
+        if(cacheEnt.getStaleError() == null){
+            return false;
+        }
+
+        long max = cachePolicy.getMaxStaleOnErrorDuration();
+        return max < 0 || CacheClock.currentTimeMillis() - cacheEnt.getStaleSince() < max;
+    }
+
+    /**
+     * Reload the key in the cache executor, unless it's being loaded already, or there are already
+     * {@link CachePolicy#getMaxConcurrentRefreshes()} refreshes in progress. Requests coming during
+     * the refresh keep getting the cached source.
+     *
+     * @param key Cache key
+     * @param cacheEnt The cache entity to refresh, the refresh will be skipped if it's replaced meanwhile
+     */
+    protected void refreshAsync(final Key key, final CacheEntity<Source> cacheEnt){
+        if(loadings.containsKey(key)){
+            return;
+        }
+
+        if(refreshing.incrementAndGet() > cachePolicy.getMaxConcurrentRefreshes()){
+            refreshing.decrementAndGet();
+            return;
+        }
+
+        final Loading<Source> loading = new Loading<>();
+        if(loadings.putIfAbsent(key, loading) != null){
+            refreshing.decrementAndGet();
+            return;
+        }
+
+        try{
+            cleaner.getCacheExecutor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    loading.owner = Thread.currentThread();
+                    try{
+                        runLoading(key, loading, cacheEnt);
+                    }catch(Throwable t){
+                        logger.warn("{}: Failed to refresh source for the request '{}'", AbstractCacheManager.this, key, t);
+                    }finally{
+                        refreshing.decrementAndGet();
                     }
                 }
+            });
+        }catch(RejectedExecutionException ex){
+            // cache executor is saturated, leave it to next request
+            refreshing.decrementAndGet();
+            loadings.remove(key, loading);
+            loading.complete(getCacheEntity(key));
 
-                if(loaded){
-                    // ret may be null here
-                    cacheEnt = new CacheEntity<Source>(ret, null, cachePolicy);
-                    putCacheEntity(key, cacheEnt);
+            if(logger.isDebugEnabled()){
+                logger.debug("{}: Cache executor rejected refreshing the request '{}'", this, key);
+            }
+        }
+    }
+
+    /**
+     * Load or revalidate the key with the loading owned by current thread, and complete the loading.
+     *
+     * @param refreshing The cache entity to be refreshed even if it's not expired yet, or <code>null</code>
+     */
+    private CacheEntity<Source> runLoading(Key key, Loading<Source> loading, CacheEntity<Source> refreshing) {
+        CacheEntity<Source> cacheEnt;
+        try{
+            // another thread may have finished loading it just now
+            cacheEnt = getCacheEntity(key);
+            if(cacheEnt == null || cacheEnt.isExpired() || cacheEnt == refreshing){
+                cacheEnt = loadOrRevalidate(key, cacheEnt);
+            }
+            loading.complete(cacheEnt);
+        }catch(RuntimeException | Error ex){
+            loading.completeExceptionally(ex);
+            throw ex;
+        }finally{
+            loadings.remove(key, loading);
+        }
+        return cacheEnt;
+    }
+
+    /**
+     * Load or revalidate the keys with the loadings owned by current thread, and complete the loadings.
+     * Keys not cached, or cached without source, are loaded in bulk with {@link #loadSources(List)}.
+     */
+    private void runLoadings(LinkedHashMap<Key, Loading<Source>> owned, Map<Key, CacheEntity<Source>> entities) {
+        try{
+            ArrayList<Key> misses = new ArrayList<>();
+            for(Map.Entry<Key, Loading<Source>> entry : owned.entrySet()){
+                Key key = entry.getKey();
+                // another thread may have finished loading it just now
+                CacheEntity<Source> cacheEnt = getCacheEntity(key);
+                if(cacheEnt != null && !cacheEnt.isExpired()){
+                    completeLoading(key, entry.getValue(), cacheEnt, entities);
+                }else if(cacheEnt != null && cacheEnt.source != null){
+                    completeLoading(key, entry.getValue(), loadOrRevalidate(key, cacheEnt), entities);
+                }else{
+                    misses.add(key);
                 }
-            }catch(ErrorCodeException ex){
-                if(logger.isDebugEnabled()){
-                    // I18n: {0}: Failed to load source for request \"{1}\", because of the error: {2}.
-                    logger.debug("{}: Failed to load source for request '{}', because of the error: {}", this, key, ex);
+            }
+
+            if(misses.size() == 1){
+                Key key = misses.get(0);
+                completeLoading(key, owned.get(key), loadOrRevalidate(key, getCacheEntity(key)), entities);
+            }else if(misses.size() > 1){
+                loadMisses(misses, owned, entities);
+            }
+        }catch(RuntimeException | Error ex){
+            for(Map.Entry<Key, Loading<Source>> entry : owned.entrySet()){
+                if(!entities.containsKey(entry.getKey())){
+                    loadings.remove(entry.getKey(), entry.getValue());
+                    entry.getValue().completeExceptionally(ex);
                 }
+            }
+            throw ex;
+        }
+    }
 
-                cacheEnt = new CacheEntity<Source>(null, ex, cachePolicy);
-                putCacheEntity(key, cacheEnt);
-                throw ex;
+    private void loadMisses(List<Key> misses, Map<Key, Loading<Source>> owned, Map<Key, CacheEntity<Source>> entities) {
+        Map<Key, Source> sources;
+        try{
+            sources = loadSources(misses);
+        }catch(ErrorCodeException ex){
+            // every key failed, as if loaded one by one
+            for(Key key : misses){
+                statistics.recordLoadFailure();
+                completeLoading(key, owned.get(key), cacheError(key, getCacheEntity(key), ex), entities);
             }
+            return;
         }
 
-        return ret;
+        if(sources == null){
+            // bulk loading is not supported, load them one by one
+            for(Key key : misses){
+                completeLoading(key, owned.get(key), loadOrRevalidate(key, getCacheEntity(key)), entities);
+            }
+            return;
+        }
+
+        if(logger.isDebugEnabled()){
+            logger.debug("{}: Loaded {} sources in bulk for {} requests", this, sources.size(), misses.size());
+        }
+
+        for(Key key : misses){
+            if(!sources.containsKey(key)){
+                ErrorCodeException notFound = sourceNotFound(key);
+                if(notFound != null){
+                    // as if loaded by loadSource
+                    statistics.recordLoadFailure();
+                    completeLoading(key, owned.get(key), cacheError(key, getCacheEntity(key), notFound), entities);
+                    continue;
+                }
+            }
+
+            // keys absent are loaded as null
+            CacheEntity<Source> cacheEnt = new CacheEntity<Source>(sources.get(key), null, cachePolicy);
+            putCacheEntity(key, cacheEnt);
+            statistics.recordLoadSuccess();
+            completeLoading(key, owned.get(key), cacheEnt, entities);
+        }
+    }
+
+    private void completeLoading(Key key, Loading<Source> loading, CacheEntity<Source> cacheEnt, Map<Key, CacheEntity<Source>> entities) {
+        entities.put(key, cacheEnt);
+        loadings.remove(key, loading);
+        loading.complete(cacheEnt);
+    }
+
+    /**
+     * Tells whether the key is cached, or being loaded, without loading it
+     *
+     * @param key Key
+     * @return true if cached
+     */
+    public boolean isCached(Key key){
+        return cache.containsKey(key) || loadings.containsKey(key);
     }
 
     @Override
-	public synchronized List<Key> getKeys(){
-		
-		checkStatus();
-		
-		List<Key> list = new ArrayList<Key>();
-		for(Key key : cache.keySet()){
-			list.add(key);
-		}
-		return list;
-	}
+    public List<Key> getKeys(){
 
-	@Override
-	public synchronized long getCacheSize() {
-		return cache.size();
-	}
+        checkStatus();
+
+        return new ArrayList<Key>(cache.keySet());
+    }
+
+    @Override
+    public long getCacheSize() {
+        return cache.size();
+    }
 
     @Override
-    public synchronized void cleanAll() {
+    public void cleanAll() {
         cleanCache();
     }
 
     @Override
-	public synchronized void cleanDormantCache(){
-		
-		checkStatus();
-		
-		ArrayList<Key> list = new ArrayList<Key>();
-		listDormantEntities(list);
-	  
-		if(logger.isDebugEnabled()){
-		  // I18n: Cache cleaner ({0}): total {1} cache entities to clean.
-			logger.debug("Cache Manager ({}): Total {} cache entities to clean",  this, list.size());
-		}
-		
-		CacheEntity<Source> ent = null;
-		for(Key k : list){
-			ent = removeCacheEntity(k);
-			
-			if(logger.isDebugEnabled()){
-			  // I18n: Cache cleaner ({0}): cache entity (key = value) - \"{1}\" = \"{2}\".
-				logger.debug("Cache Manager ({}): Cache entity (key, value) - ({}, {}", this, k, ent);
-			}
-			
-	    if(ent != null && ent.getSource() != null){
-	    	destroySource(ent.getSource());
-	    }
-		}
-	}
-	
-	public synchronized void dump(PrintWriter writer){
-		
-		checkStatus();
-		
-		dumpCache(writer);
-	}
-	
-	protected void checkStatus() throws InvalidStatusException{
-		if(status != Manageable.STATUS_INITIALIZED){
-			// I18n: Cache manager is not valid, its current status is \"{0}\".
-			throw new InvalidStatusException("Cache Manager (" + this.getClass() + ") is not initialized yet");
-		}
-	}
-	
-	protected void register(){
-		cleaner.registerCacheManager(this);
-	}
-	
-	protected void unregister(){
-		cleaner.unregisterCacheManager(this);
-	}
-	
+    public void cleanDormantCache(){
+        cleanDormantCache(cachePolicy.getCleanTimeBudget());
+    }
+
+    @Override
+    public boolean cleanDormantCache(long timeBudget){
+
+        checkStatus();
+
+        long now = CacheClock.currentTimeMillis();
+        long stopAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudget);
+        ArrayList<Key> due = new ArrayList<Key>(CLEAN_BATCH_SIZE);
+        int checked = 0;
+        int cleaned = 0;
+        boolean finished;
+
+        do{
+            due.clear();
+            synchronized (wheel){
+                finished = wheel.poll(now, CLEAN_BATCH_SIZE, due);
+            }
+            checked += due.size();
+
+            CacheEntity<Source> ent = null;
+            for(Key k : due){
+                ent = getCacheEntity(k);
+                if(ent == null){
+                    continue;
+                }
+
+                if(!ent.isCleanable()){
+                    // queried since scheduled, check it again when it may be dormant; not earlier
+                    // than now, or it would be polled again in this run
+                    scheduleClean(k, ent, Math.max(ent.getCleanTime(), now + 1));
+                    continue;
+                }
+
+                // the entity is rescheduled by its put if it's replaced meanwhile
+                if(!removeCacheEntity(k, ent)){
+                    continue;
+                }
+                cleaned++;
+
+                if(logger.isDebugEnabled()){
+                    // I18n: Cache cleaner ({0}): cache entity (key = value) - \"{1}\" = \"{2}\".
+                    logger.debug("Cache Manager ({}): Cache entity (key, value) - ({}, {}", this, k, ent);
+                }
+
+                if(ent.source != null){
+                    destroySource(ent.source);
+                }
+            }
+        }while(!finished && System.nanoTime() < stopAt);
+
+        if(logger.isDebugEnabled()){
+            // I18n: Cache cleaner ({0}): total {1} cache entities to clean.
+            logger.debug("Cache Manager ({}): Checked {} cache entities due, cleaned {}, finished: {}",  this, checked, cleaned, finished);
+        }
+        return finished;
+    }
+
+    public void dump(PrintWriter writer){
+
+        checkStatus();
+
+        dumpCache(writer);
+    }
+
+    protected void checkStatus() throws InvalidStatusException{
+        if(status != Manageable.STATUS_INITIALIZED){
+            // I18n: Cache manager is not valid, its current status is \"{0}\".
+            throw new InvalidStatusException("Cache Manager (" + this.getClass() + ") is not initialized yet");
+        }
+    }
+
+    protected void register(){
+        cleaner.registerCacheManager(this);
+    }
+
+    protected void unregister(){
+        cleaner.unregisterCacheManager(this);
+    }
+
     protected CacheEntity<Source> getCacheEntity(Key key) {
-		return cache.get(key);
-  }
+        return cache.get(key);
+    }
 
     protected void putCacheEntity(Key key, CacheEntity<Source> entity) {
-		cache.put(key, entity);
-  }
+        CacheEntity<Source> old = null;
+        boolean put = false;
+        if(eviction == null){
+            // unbounded, put it without lock
+            old = cache.put(key, entity);
+            put = true;
+        }
+
+        List<Key> victims = Collections.emptyList();
+        ArrayList<CacheEntity<Source>> evicted = null;
+        // bounded, or bounded by a resize which may have walked the cache before the put
+        if(!put || eviction != null){
+            synchronized (evictionLock){
+                if(!put){
+                    old = cache.put(key, entity);
+                }
+                CacheEviction<Key> ev = eviction;
+                if(ev != null && cache.get(key) == entity){
+                    victims = ev.add(key, entity.source == null ? 1 : Math.max(1, weigh(key, entity.source)));
+                    if(!victims.isEmpty()){
+                        evicted = new ArrayList<>(victims.size());
+                        for(Key victim : victims){
+                            CacheEntity<Source> ent = cache.remove(victim);
+                            if(ent != null){
+                                evicted.add(ent);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        scheduleClean(key, entity);
+        if(old == null || old.source != entity.source){
+            fireSourceChanged(key);
+        }
+
+        if(evicted != null){
+            for(Key victim : victims){
+                cancelClean(victim);
+                cacheEntityRemoved(victim);
+            }
+
+            statistics.recordEvictions(evicted.size());
+            if(logger.isDebugEnabled()){
+                logger.debug("Cache Manager ({}): Evicted {} cache entities: {}", this, victims.size(), victims);
+            }
+
+            for(CacheEntity<Source> ent : evicted){
+                if(ent.source != null){
+                    destroySource(ent.source);
+                }
+            }
+        }
+    }
 
     protected CacheEntity<Source> removeCacheEntity(Key key) {
-	  return cache.remove(key);
-  }
+        CacheEntity<Source> ret;
+        if(eviction == null){
+            ret = cache.remove(key);
+            if(eviction != null){
+                // bounded by a resize which may have walked the cache before the removal
+                untrack(key);
+            }
+        }else{
+            synchronized (evictionLock){
+                ret = cache.remove(key);
+                CacheEviction<Key> ev = eviction;
+                if(ev != null){
+                    ev.remove(key);
+                }
+            }
+        }
+
+        if(ret != null){
+            cancelClean(key);
+            cacheEntityRemoved(key);
+            fireSourceChanged(key);
+        }
+        return ret;
+    }
+
+    /**
+     * Remove the cache entity of the key only if it's the given entity
+     *
+     * @return <code>true</code> if removed
+     */
+    protected boolean removeCacheEntity(Key key, CacheEntity<Source> entity) {
+        boolean ret;
+        if(eviction == null){
+            ret = cache.remove(key, entity);
+            if(ret && eviction != null){
+                // bounded by a resize which may have walked the cache before the removal
+                untrack(key);
+            }
+        }else{
+            synchronized (evictionLock){
+                ret = cache.remove(key, entity);
+                CacheEviction<Key> ev = eviction;
+                if(ret && ev != null){
+                    ev.remove(key);
+                }
+            }
+        }
+
+        if(ret){
+            cancelClean(key);
+            cacheEntityRemoved(key);
+        }
+        return ret;
+    }
+
+    /**
+     * Remove the key from the eviction unless it's put again meanwhile
+     */
+    private void untrack(Key key){
+        synchronized (evictionLock){
+            CacheEviction<Key> ev = eviction;
+            if(ev != null && !cache.containsKey(key)){
+                ev.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Called after the cache entity of the key is removed, explicitly, or for dormancy or cache size.
+     * It's called in the thread changing the cache, and does nothing by default.
+     *
+     * @param key Cache key
+     */
+    protected void cacheEntityRemoved(Key key){
+    }
+
+    /**
+     * Add a listener to be notified when a source is changed
+     *
+     * @param listener Cache listener
+     */
+    public void addCacheListener(CacheListener<Key> listener){
+        Assert.notNull(listener, "CacheListener cannot be null");
+        listeners.add(listener);
+    }
+
+    public void removeCacheListener(CacheListener<Key> listener){
+        listeners.remove(listener);
+    }
+
+    private void fireSourceChanged(Key key){
+        for(CacheListener<Key> listener : listeners){
+            try{
+                listener.sourceChanged(key);
+            }catch(RuntimeException ex){
+                logger.warn("Cache Manager ({}): Cache listener ({}) failed on the change of '{}'", this, listener, key, ex);
+            }
+        }
+    }
+
+    /**
+     * Schedule cleaning of the key by its cache entity
+     */
+    private void scheduleClean(Key key, CacheEntity<Source> entity){
+        scheduleClean(key, entity, entity.getCleanTime());
+    }
+
+    /**
+     * Schedule cleaning of the key at the given time, unless the entity has been replaced, the
+     * put of the replacing entity schedules the key instead
+     */
+    private void scheduleClean(Key key, CacheEntity<Source> entity, long cleanTime){
+        synchronized (wheel){
+            if(cache.get(key) != entity){
+                return;
+            }
+
+            if(cleanTime == Long.MAX_VALUE){
+                wheel.cancel(key);
+            }else{
+                wheel.schedule(key, cleanTime);
+            }
+        }
+    }
+
+    /**
+     * Cancel cleaning of the removed key, unless it's put again meanwhile
+     */
+    private void cancelClean(Key key){
+        synchronized (wheel){
+            if(!cache.containsKey(key)){
+                wheel.cancel(key);
+            }
+        }
+    }
+
+    /**
+     * Replace the eviction with one of the new maximum size, and evict the entities over it.
+     * <p>
+     * The new eviction is published before the cache is walked, while holding the eviction lock, so a
+     * bounded put or remove waits for the walk, and an unbounded put or remove either completed before
+     * the walk or sees the new eviction afterwards, and tracks or untracks the key by itself.
+     *
+     * @param maximumSize new maximum size, the cache will be unbounded if it's not greater than zero
+     */
+    protected void resize(long maximumSize){
+        if(maximumSize <= 0){
+            synchronized (evictionLock){
+                eviction = null;
+            }
+            return;
+        }
+
+        CacheEviction<Key> resized = new CacheEviction<>(maximumSize);
+        ArrayList<CacheEntity<Source>> evicted = new ArrayList<>();
+        ArrayList<Key> evictedKeys = new ArrayList<>();
+        synchronized (evictionLock){
+            eviction = resized;
+            for(Map.Entry<Key, CacheEntity<Source>> entry : cache.entrySet()){
+                CacheEntity<Source> ent = entry.getValue();
+                List<Key> victims = resized.add(entry.getKey(), ent.source == null ? 1 : Math.max(1, weigh(entry.getKey(), ent.source)));
+                for(Key victim : victims){
+                    ent = cache.remove(victim);
+                    if(ent != null){
+                        evicted.add(ent);
+                        evictedKeys.add(victim);
+                    }
+                }
+            }
+        }
+
+        for(Key victim : evictedKeys){
+            cancelClean(victim);
+            cacheEntityRemoved(victim);
+        }
+        for(CacheEntity<Source> ent : evicted){
+            if(ent.source != null){
+                destroySource(ent.source);
+            }
+        }
+    }
+
+    /**
+     * Returns the weight of a source, cache size is bounded by the total weight of cached sources
+     * if {@link CachePolicy#getMaximumSize()} is set. It's 1 by default, so the cache is bounded by
+     * the number of entities. <code>null</code> and error are always weighed 1.
+     *
+     * @param key Cache key
+     * @param source Source to cache, not <code>null</code>
+     * @return the weight, at least 1
+     */
+    protected int weigh(Key key, Source source){
+        return 1;
+    }
 
     protected void dumpCache(PrintWriter writer) {
-		CacheEntity<Source> ent = null;
-		int size = cache.size();
-		writer.print("Total ");
-		writer.print(size);
-		if(size > 1){
-			writer.println(" entities.");
-		}else{
-			writer.println(" entity.");
-		}
+        int size = cache.size();
+        writer.print("Total ");
+        writer.print(size);
+        if(size > 1){
+            writer.println(" entities.");
+        }else{
+            writer.println(" entity.");
+        }
 
-		if(size > 0) {
-			for(Key key : cache.keySet()){
-				ent = cache.get(key);
-				writer.print(key);
-				writer.print(" = ");
-				writer.print(ent);
-			}
-		}
+        for(Map.Entry<Key, CacheEntity<Source>> entry : cache.entrySet()){
+            writer.print(entry.getKey());
+            writer.print(" = ");
+            writer.println(entry.getValue());
+        }
     }
 
     protected void cleanCache() {
-	    CacheEntity<Source> cacheEnt = null;
-	    for(Key key : cache.keySet()){
-		    cacheEnt = cache.get(key);
-		    if(cacheEnt.getSource() != null){
-			    destroySource(cacheEnt.getSource());
-		    }
-	    }
-	    cache.clear();
-		cache = null;
+        CacheEntity<Source> cacheEnt = null;
+        for(Key key : cache.keySet()){
+            cacheEnt = removeCacheEntity(key);
+            if(cacheEnt != null && cacheEnt.source != null){
+                destroySource(cacheEnt.source);
+            }
+        }
     }
 
     protected void listDormantEntities(List<Key> keyList) {
-		CacheEntity<Source> ent = null;
-		for(Key key : cache.keySet()){
-			ent = cache.get(key);
-		if(ent.isDormant()){
-			keyList.add(key);
-		}
-		}
+        for(Map.Entry<Key, CacheEntity<Source>> entry : cache.entrySet()){
+            if(entry.getValue().isDormant()){
+                keyList.add(entry.getKey());
+            }
+        }
+    }
+
+    private Source returnCached(Key key, CacheEntity<Source> cacheEnt) throws ErrorCodeException {
+        if(logger.isDebugEnabled()){
+            logger.debug("{}: Cache entity was not expired, of request '{}': {}", this, key, cacheEnt);
+        }
+
+        if(cacheEnt.getError() != null){
+            throw cacheEnt.getError();
+        }
+
+        Source ret = cacheEnt.getSource();
+        if(logger.isDebugEnabled()){
+            logger.debug("{}: Returned cached source for the request '{}': {}", this, key, ret);
+        }
+        return ret;
+    }
+
+    /**
+     * Load source of the key if it's not cached, or revalidate the expired cache entity.
+     * Caller must own the loading of the key.
+     *
+     * @return the cache entity holding the source or the error
+     */
+    private CacheEntity<Source> loadOrRevalidate(Key key, CacheEntity<Source> cacheEnt) {
+        boolean loaded = false;
+        Source ret = null;
+        try{
+            if(cacheEnt == null){
+                // load it
+                ret = loadSource(key);
+                loaded = true;
+
+                if(logger.isDebugEnabled()){
+                    logger.debug("{}: Loaded source for the request '{}': {}", this, key, ret);
+                }
+
+            }else{ // cache expired
+                if(logger.isDebugEnabled()){
+                    logger.debug("{}: Cache entity was expired, of request '{}': {}", this, key, cacheEnt);
+                }
+
+                ret = cacheEnt.getSource();
+                if(ret != null){
+					if(ret instanceof  Modifiable){
+						if(((Modifiable)ret).isModified()){
+							// modified, reload it
+							if(logger.isDebugEnabled()){
+								logger.debug("{}: Cached source was modified, of request '{}': {}", this, key, ret);
+							}
+
+							// reload it
+							ret = reloadSource(key, ret);
+							loaded = true;
+
+							if(logger.isDebugEnabled()){
+								logger.debug("{}: Reloaded source for request '{}': {}", this, key, ret);
+							}
+						}else if(cacheEnt.getStaleError() != null){
+							// not modified any more since last failed, cache it as usual
+							loaded = true;
+						}else{
+							// not modified, refresh time
+							cacheEnt.refreshCacheTime();
+
+							if(logger.isDebugEnabled()){
+								logger.debug("{}: Cached source was not modified, refreshed cache time for request '{}': {}", this, key, cacheEnt);
+							}
+						}
+					}else{
+						// cache expired, reload it
+						ret = reloadSource(key, ret);
+						loaded = true;
+
+						if(logger.isDebugEnabled()){
+							logger.debug("{}: Reloaded source for request '{}': {}", this, key, ret);
+						}
+					}
+                }else{
+                    // load it
+                    ret = loadSource(key);
+                    loaded = true;
+
+                    if(logger.isDebugEnabled()){
+                        logger.debug("{}: Reloaded source, since last failed, for request '{}': {}", this, key, ret);
+                    }
+                }
+            }
+
+            if(loaded){
+                // ret may be null here
+                cacheEnt = new CacheEntity<Source>(ret, null, cachePolicy);
+                putCacheEntity(key, cacheEnt);
+                statistics.recordLoadSuccess();
+            }
+        }catch(ErrorCodeException ex){
+            statistics.recordLoadFailure();
+
+            if(cacheEnt != null && cacheEnt.source != null && cachePolicy.getStaleOnErrorGracePeriod() > 0
+                    && (cacheEnt.getStaleError() == null || isStaleServable(cacheEnt))){
+                // keep serving the previous source, and retry it after the grace period
+                cacheEnt = new CacheEntity<Source>(cacheEnt, ex, cachePolicy.getStaleOnErrorGracePeriod());
+                putCacheEntity(key, cacheEnt);
+                statistics.recordStaleOnError();
+
+                logger.warn("{}: Failed to reload source for request '{}', kept serving the stale source for {} ms, because of the error: {}",
+                        this, key, cachePolicy.getStaleOnErrorGracePeriod(), ex.getMessage());
+                return cacheEnt;
+            }
+
+            cacheEnt = cacheError(key, cacheEnt, ex);
+        }
+
+        return cacheEnt;
+    }
+
+    /**
+     * Cache the error of loading the key, in place of the cache entity failed to reload
+     */
+    private CacheEntity<Source> cacheError(Key key, CacheEntity<Source> cacheEnt, ErrorCodeException ex) {
+        if(logger.isDebugEnabled()){
+            // I18n: {0}: Failed to load source for request \"{1}\", because of the error: {2}.
+            logger.debug("{}: Failed to load source for request '{}', because of the error: {}", this, key, ex);
+        }
+
+        // back off the source failing repeatedly
+        int failures = (cacheEnt != null ? cacheEnt.getFailures() + 1 : 1);
+        CacheEntity<Source> ret = new CacheEntity<Source>(null, ex, cachePolicy, failures);
+        putCacheEntity(key, ret);
+        return ret;
+    }
+
+    private CacheEntity<Source> await(Loading<Source> loading) {
+        try{
+            return loading.join();
+        }catch(CompletionException ex){
+            // rethrow the unchecked error which failed the loading thread
+            Throwable cause = ex.getCause();
+            if(cause instanceof RuntimeException){
+                throw (RuntimeException) cause;
+            }
+            if(cause instanceof Error){
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Loading of a key, completed with the cache entity holding the loaded source or error
+     */
+    private static class Loading<Source> extends CompletableFuture<CacheEntity<Source>> {
+        volatile Thread owner = Thread.currentThread();
     }
 
     abstract protected Source loadSource(Key key) throws ErrorCodeException;
 
+    /**
+     * Load sources of the keys in bulk, e.g., in one provider call, for {@link #getSources(Collection)}.
+     * Keys absent from the returned map are cached as the error of {@link #sourceNotFound(Object)}, or as
+     * <code>null</code> sources. It's not supported by default, then the keys are loaded one by one with
+     * {@link #loadSource(Object)}.
+     *
+     * @param keys Keys not cached, more than one
+     * @return sources of the keys, or <code>null</code> if bulk loading is not supported
+     * @throws ErrorCodeException if failed to load, the error is cached for every key
+     */
+    protected Map<Key, Source> loadSources(List<Key> keys) throws ErrorCodeException {
+        return null;
+    }
+
+    /**
+     * Returns the error of the key absent from the result of {@link #loadSources(List)}, it should be the error
+     * {@link #loadSource(Object)} throws for a key not found, so both get the same result.
+     *
+     * @param key Key absent
+     * @return the error, or <code>null</code> to cache the key as a <code>null</code> source
+     */
+    protected ErrorCodeException sourceNotFound(Key key) {
+        return null;
+    }
+
     abstract protected Source reloadSource(Key key, Source oldSource) throws ErrorCodeException;
 
     abstract protected void destroySource(Source source);
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.cache;
+
+/**
+ * A coarse clock for cache entities, it's updated by a background daemon thread every
+ * {@value #TICK} milliseconds, so reading it is a plain volatile read, no system call.
+ * It's accurate enough for cache durations, which are seconds or minutes.
+ * <p>
+ * The ticker thread is reference counted: each {@link DormantCacheCleaner} starts the clock when it's
+ * created and stops it by {@link DormantCacheCleaner#stop()}, the ticker runs while any cleaner is
+ * not stopped. Without a ticker, the clock reads the system time directly.
+ *
+ * @create 2026-10-18
+ */
+public final class CacheClock {
+    /**
+     * Tick interval in milliseconds
+     */
+    public static final long TICK = 10;
+
+    private static volatile long now = System.currentTimeMillis();
+
+    private static volatile Ticker ticker;
+
+    /**
+     * Number of starts not stopped yet
+     */
+    private static int users;
+
+    private CacheClock(){
+    }
+
+    /**
+     * Returns current time in milliseconds, it's behind the system time by {@value #TICK}
+     * milliseconds at most.
+     *
+     * @return current time in milliseconds
+     */
+    public static long currentTimeMillis(){
+        return ticker != null ? now : System.currentTimeMillis();
+    }
+
+    /**
+     * Start the ticker thread if it's not started, each start must be paired with a {@link #stop()}
+     */
+    public static synchronized void start(){
+        if(users++ > 0){
+            return;
+        }
+
+        now = System.currentTimeMillis();
+        Ticker t = new Ticker();
+        t.start();
+        ticker = t;
+    }
+
+    /**
+     * Stop the ticker thread once it's stopped as many times as it's started, then the clock reads
+     * the system time directly until it's started again
+     */
+    public static synchronized void stop(){
+        if(users == 0 || --users > 0){
+            return;
+        }
+
+        Ticker t = ticker;
+        ticker = null;
+        t.running = false;
+        t.interrupt();
+    }
+
+    /**
+     * Ticker thread, with its own stop flag, so a stopped ticker never keeps running along with a new one
+     */
+    private static class Ticker extends Thread {
+        private volatile boolean running = true;
+
+        Ticker(){
+            super("bedrock-cache-clock");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while(running){
+                now = System.currentTimeMillis();
+                try{
+                    Thread.sleep(TICK);
+                }catch(InterruptedException ex){
+                    // stopped, or keep going
+                }
+            }
+        }
+    }
+}
@@ -28,7 +28,8 @@ import java.util.Calendar;
  * it will exceed dormant duration, and cache manager can clean such dormant
  * cache entity.
  * <p>
- * Note, the class must be multi-thread safe.
+ * Note, the class must be multi-thread safe. Querying the entity takes no lock, and reads the time
+ * from {@link CacheClock}, not from the system.
  *
  * @author Htinker Hu (htinker@163.com)
  * @create 2017-09-19
@@ -37,17 +38,63 @@ public class CacheEntity <T> {
 	protected final ErrorCodeException error;
 	protected final T source;
 	protected final CachePolicy cachePolicy;
-    protected long cachedAt;
-    protected long lastQueriedAt;
+	protected final int failures;
+	protected final long failureDuration;
+	protected final ErrorCodeException staleError;
+	protected final long staleSince;
+    protected volatile long cachedAt;
+    protected volatile long lastQueriedAt;
+    protected volatile int queriedTimes;
+
+    /**
+     * Queried times saturates at the limit, so that hot entity is not written on each query
+     */
+    protected static final int MAX_QUERIED_TIMES = 1024;
 
 	public CacheEntity(T source, ErrorCodeException error, CachePolicy cachePolicy){
+		this(source, error, cachePolicy, error == null ? 0 : 1);
+	}
+
+	/**
+	 * Create cache entity of an error which is the given times failure in a row, the error will be cached
+	 * longer with more failures.
+	 *
+	 * @param failures consecutive failures to load the source
+	 * @see CachePolicy#computeErrorCacheDuration(int)
+	 */
+	public CacheEntity(T source, ErrorCodeException error, CachePolicy cachePolicy, int failures){
 		this.source = source;
 		this.error = error;
 		this.cachePolicy = cachePolicy;
-		cachedAt = System.currentTimeMillis();
+		this.failures = failures;
+		this.failureDuration = (error == null ? 0 : cachePolicy.computeErrorCacheDuration(failures));
+		this.staleError = null;
+		this.staleSince = 0;
+		cachedAt = CacheClock.currentTimeMillis();
 		lastQueriedAt = cachedAt;
 	}
 
+	/**
+	 * Create cache entity keeping the source of a cache entity which failed to reload, it will be
+	 * expired after the grace period, so that the source is retried.
+	 *
+	 * @param stale the cache entity failed to reload
+	 * @param error the reloading error
+	 * @param gracePeriod duration to keep the source
+	 * @see CachePolicy#getStaleOnErrorGracePeriod()
+	 */
+	public CacheEntity(CacheEntity<T> stale, ErrorCodeException error, long gracePeriod){
+		this.source = stale.source;
+		this.error = null;
+		this.cachePolicy = stale.cachePolicy;
+		this.failures = stale.failures + 1;
+		this.failureDuration = gracePeriod;
+		this.staleError = error;
+		cachedAt = CacheClock.currentTimeMillis();
+		lastQueriedAt = stale.lastQueriedAt;
+		this.staleSince = (stale.staleError != null ? stale.staleSince : cachedAt);
+	}
+
 	/**
 	 * Returns dormancy duration
 	 * 
@@ -58,10 +105,18 @@ public class CacheEntity <T> {
 	}
 
     /**
-     * Returns cache duration, if it's over, the cache entity will be expired
+     * Returns cache duration, if it's over, the cache entity will be expired. It's the negative
+     * cache duration if the source is <code>null</code>, and the error cache duration, backed off
+     * by consecutive failures, if there is error. It's the grace period if the source is stale.
      * @return cache duration
      */
 	public long getCacheDuration() {
+		if(error != null || staleError != null){
+			return failureDuration;
+		}
+		if(source == null){
+			return cachePolicy.getNegativeCacheDuration();
+		}
 	    return cachePolicy.getCacheDuration();
     }
 	
@@ -73,7 +128,15 @@ public class CacheEntity <T> {
 	 * @see #getError()
 	 */
 	public T getSource() {
-		setLastQueriedAt();
+		// no lock, and write shared fields only when they change, it's at most once a clock tick for
+		// a hot entity; counting is not atomic, a rough count is enough to tell hot entity
+		long now = CacheClock.currentTimeMillis();
+		if(lastQueriedAt != now){
+			lastQueriedAt = now;
+		}
+		if(queriedTimes < MAX_QUERIED_TIMES){
+			queriedTimes++;
+		}
 		return source;
 	}
 	
@@ -93,7 +156,7 @@ public class CacheEntity <T> {
 			return false;
 		}
 		
-		long elapse = System.currentTimeMillis() - getLastQueriedAt();
+		long elapse = CacheClock.currentTimeMillis() - lastQueriedAt;
 		return cachePolicy.getAllowedDormantDuration() < elapse;
 	}
 
@@ -109,31 +172,125 @@ public class CacheEntity <T> {
      * @return <code>true</code> or <code>false</code>
      */
     public boolean isExpired(){
-        if(cachePolicy.getCacheDuration() < 0){
+        long duration = getCacheDuration();
+        if(duration < 0){
+            return false;
+        }
+
+        long elapse = CacheClock.currentTimeMillis() - cachedAt;
+        return duration < elapse;
+    }
+
+    /**
+     * Is the cache entity hot and going to expire, so that it should be refreshed ahead?
+     * It's due when it's cached longer than {@link CachePolicy#getRefreshAheadRatio()} of
+     * its cache duration, and has been queried at least {@link CachePolicy#getRefreshAheadMinHits()}
+     * times since cached.
+     *
+     * @return <code>true</code> or <code>false</code>
+     */
+    public boolean isDueForRefreshAhead(){
+        double ratio = cachePolicy.getRefreshAheadRatio();
+        if(ratio <= 0 || ratio >= 1 || cachePolicy.getCacheDuration() < 0 || error != null || staleError != null){
             return false;
         }
 
-        long elapse = System.currentTimeMillis() - cachedAt;
-        return cachePolicy.getCacheDuration() < elapse;
+        if(queriedTimes < cachePolicy.getRefreshAheadMinHits()){
+            return false;
+        }
+
+        long elapse = CacheClock.currentTimeMillis() - cachedAt;
+        return elapse > cachePolicy.getCacheDuration() * ratio;
     }
 
-    synchronized public long getCacheTime(){
+    /**
+     * Returns the time when the cache entity may need cleaning: when it becomes dormant if it's not queried
+     * any more, or when it expires if it's a <code>null</code> source, which is not worth keeping after expired.
+     * The time is not final, querying the entity postpones its dormancy.
+     *
+     * @return the time in milliseconds, or {@link Long#MAX_VALUE} if it never needs cleaning
+     */
+    public long getCleanTime(){
+        long ret = Long.MAX_VALUE;
+        long dormancy = cachePolicy.getAllowedDormantDuration();
+        if(dormancy >= 0){
+            ret = lastQueriedAt + dormancy;
+        }
+
+        if(source == null && error == null){
+            long duration = getCacheDuration();
+            if(duration >= 0){
+                ret = Math.min(ret, cachedAt + duration);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Is the cache entity to be cleaned out of cache, that's, it's dormant or it's an expired
+     * <code>null</code> source? Expired errors are kept for backing off failures.
+     *
+     * @return <code>true</code> or <code>false</code>
+     */
+    public boolean isCleanable(){
+        return isDormant() || (source == null && error == null && isExpired());
+    }
+
+    /**
+     * Returns how many times in a row loading the source failed, it's 0 if there is no error and the source is not stale.
+     *
+     * @return consecutive failures
+     */
+    public int getFailures(){
+        return failures;
+    }
+
+    /**
+     * Returns the error failed reloading the source, if the source is kept stale in spite of the error,
+     * otherwise <code>null</code>.
+     *
+     * @return the reloading error
+     */
+    public ErrorCodeException getStaleError(){
+        return staleError;
+    }
+
+    /**
+     * Returns when the source became stale, that's, when its reloading failed the first time.
+     *
+     * @return the time in milliseconds, 0 if it's not stale
+     */
+    public long getStaleSince(){
+        return staleSince;
+    }
+
+    /**
+     * Returns how many times the source is queried since cached, it's approximate, and saturates
+     * at {@value #MAX_QUERIED_TIMES}.
+     *
+     * @return queried times
+     */
+    public int getQueriedTimes(){
+        return queriedTimes;
+    }
+
+    public long getCacheTime(){
 		return cachedAt;
 	}
 	
-	synchronized public long getLastQueriedAt(){
+	public long getLastQueriedAt(){
 		return lastQueriedAt;
 	}
 	
-	synchronized public void setLastQueriedAt(){
-		lastQueriedAt = System.currentTimeMillis();
+	public void setLastQueriedAt(){
+		lastQueriedAt = CacheClock.currentTimeMillis();
 	}
 
     /**
      * Refresh cache time and cache expiration will be calculated in a new rough
      */
-    synchronized public void refreshCacheTime(){
-        cachedAt =  System.currentTimeMillis();
+    public void refreshCacheTime(){
+        cachedAt = CacheClock.currentTimeMillis();
     }
 
 	@Override
@@ -146,7 +303,7 @@ public class CacheEntity <T> {
 			sb.append("Dormant / ");
 		}
 
-        if(isDormant()){
+        if(isExpired()){
             sb.append("Expired / ");
         }
 
@@ -161,6 +318,10 @@ public class CacheEntity <T> {
 		
 		sb.append(" / ");
 		
+		if(staleError != null){
+			sb.append("Stale / ");
+		}
+
 		if(error != null){
 			sb.append("\"");
 			sb.append(error.getMessage());
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.cache;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Size based eviction of cache manager, with the Window TinyLFU policy:
+ * <ul>
+ * <li>A new key is always admitted into a small window region (1% of the maximum weight), so that
+ * a burst of new keys can be cached for a while;</li>
+ * <li>Keys overflowing from the window are candidates to the main region. Once the cache is over
+ * its maximum weight, the candidate has to beat the main region's victim (its oldest key) in the
+ * {@link FrequencySketch frequency sketch}, otherwise the candidate is evicted. A victim who wins
+ * is moved to the tail, so that the next oldest key will be the next victim;</li>
+ * </ul>
+ * So a scan of keys requested once cannot flush the frequently requested keys out.
+ * <p>
+ * Accesses are recorded without lock, while the regions are not thread-safe, and must be
+ * guarded by the caller, see {@link AbstractCacheManager#resize(long)}.
+ *
+ * @create 2026-10-18
+ */
+class CacheEviction<Key> {
+    private final long maximumWeight;
+    private final long windowMaximumWeight;
+    private final FrequencySketch sketch;
+
+    private final LinkedHashMap<Key, Long> window = new LinkedHashMap<>();
+    private final LinkedHashMap<Key, Long> main = new LinkedHashMap<>();
+    private long windowWeight;
+    private long mainWeight;
+
+    CacheEviction(long maximumWeight){
+        this.maximumWeight = maximumWeight;
+        this.windowMaximumWeight = Math.max(1, maximumWeight / 100);
+        this.sketch = new FrequencySketch(maximumWeight);
+    }
+
+    long getMaximumWeight(){
+        return maximumWeight;
+    }
+
+    long getWeight(){
+        return windowWeight + mainWeight;
+    }
+
+    /**
+     * Record an access of the key, it's thread-safe
+     *
+     * @param key the key requested
+     */
+    void recordAccess(Key key){
+        sketch.increment(key);
+    }
+
+    /**
+     * Add a key, or update the weight of an existing key, and returns the keys to evict.
+     *
+     * @param key Cache key
+     * @param weight Weight of the key
+     * @return keys to evict, it may contain the given key itself
+     */
+    List<Key> add(Key key, long weight){
+        Long old = main.get(key);
+        if(old != null){
+            main.put(key, weight);
+            mainWeight += (weight - old);
+        }else{
+            old = window.put(key, weight);
+            windowWeight += weight - (old == null ? 0 : old);
+        }
+
+        // move overflowed keys to main region as candidates
+        Key candidate = null;
+        while(windowWeight > windowMaximumWeight && window.size() > 1){
+            Map.Entry<Key, Long> eldest = pollFirst(window);
+            windowWeight -= eldest.getValue();
+            main.put(eldest.getKey(), eldest.getValue());
+            mainWeight += eldest.getValue();
+            candidate = eldest.getKey();
+        }
+
+        if(getWeight() <= maximumWeight){
+            return Collections.emptyList();
+        }
+
+        return evict(candidate);
+    }
+
+    /**
+     * Remove a key
+     *
+     * @param key Cache key
+     */
+    void remove(Key key){
+        Long weight = window.remove(key);
+        if(weight != null){
+            windowWeight -= weight;
+            return;
+        }
+
+        weight = main.remove(key);
+        if(weight != null){
+            mainWeight -= weight;
+        }
+    }
+
+    void clear(){
+        window.clear();
+        main.clear();
+        windowWeight = 0;
+        mainWeight = 0;
+    }
+
+    private List<Key> evict(Key candidate){
+        ArrayList<Key> victims = new ArrayList<>(1);
+        // a victim can win a duel once in a round, so the loop always ends
+        int duels = main.size();
+        while(getWeight() > maximumWeight){
+            if(main.isEmpty()){
+                Map.Entry<Key, Long> eldest = pollFirst(window);
+                windowWeight -= eldest.getValue();
+                victims.add(eldest.getKey());
+                continue;
+            }
+
+            Key victim = main.keySet().iterator().next();
+            if(candidate != null && !candidate.equals(victim) && duels-- > 0){
+                if(sketch.frequency(candidate) > sketch.frequency(victim)){
+                    evictFromMain(victim, victims);
+                }else{
+                    // candidate loses, victim gets a second chance at the tail
+                    evictFromMain(candidate, victims);
+                    Long weight = main.remove(victim);
+                    main.put(victim, weight);
+                    candidate = null;
+                }
+            }else{
+                evictFromMain(victim, victims);
+                candidate = null;
+            }
+        }
+        return victims;
+    }
+
+    private void evictFromMain(Key key, List<Key> victims){
+        Long weight = main.remove(key);
+        if(weight != null){
+            mainWeight -= weight;
+            victims.add(key);
+        }
+    }
+
+    private static <K> Map.Entry<K, Long> pollFirst(LinkedHashMap<K, Long> map){
+        Iterator<Map.Entry<K, Long>> it = map.entrySet().iterator();
+        Map.Entry<K, Long> eldest = new AbstractMap.SimpleImmutableEntry<>(it.next());
+        it.remove();
+        return eldest;
+    }
+}
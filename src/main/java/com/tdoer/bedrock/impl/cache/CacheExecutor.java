@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.cache;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executor in which cache managers load sources in background, e.g., refreshing expired sources and
+ * loading the levels of a lookup chain in parallel. It's bounded, and rejects tasks with
+ * {@link java.util.concurrent.RejectedExecutionException} once saturated, then the callers load
+ * the sources by themselves.
+ *
+ * @create 2026-10-18
+ */
+public interface CacheExecutor extends Executor {
+
+    /**
+     * Stop accepting tasks, the tasks accepted are still run
+     */
+    void shutdown();
+
+    /**
+     * Create an executor running tasks on virtual threads if the JVM supports them, i.e., JDK 21+,
+     * otherwise on a pool of platform threads.
+     *
+     * @param name Name prefix of the threads
+     * @param concurrency Maximum number of tasks running at the same time
+     * @param capacity Maximum number of tasks waiting to run
+     * @return the executor
+     */
+    static CacheExecutor create(String name, int concurrency, int capacity){
+        if(VirtualThreadCacheExecutor.isSupported()){
+            return new VirtualThreadCacheExecutor(name, concurrency, capacity);
+        }
+        return new PlatformCacheExecutor(name, concurrency, capacity);
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.cache;
+
+/**
+ * Listener of a cache manager's sources, it's notified after the source of a key is loaded, or replaced
+ * by a different source, or removed explicitly. It's not notified when a cache entity is cleaned for
+ * dormancy or evicted for cache size, the source is not changed then.
+ * <p>
+ * Note, it's notified in the thread changing the cache, it should be quick and must be thread-safe.
+ *
+ * @create 2026-10-18
+ */
+public interface CacheListener<Key> {
+
+    /**
+     * The source of the key is changed
+     *
+     * @param key Cache key
+     */
+    void sourceChanged(Key key);
+}
@@ -19,7 +19,9 @@ import com.tdoer.bedrock.impl.Manageable;
 import com.tdoer.springboot.error.ErrorCodeException;
 
 import java.io.PrintWriter;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 /**
  * @author Htinker Hu (htinker@163.com)
  * @create 2017-09-19
@@ -28,13 +30,60 @@ public interface CacheManager<Key, Source> extends Manageable {
 
 	void cleanDormantCache();
 
+	/**
+	 * Clean dormant cache within the time budget, cache entities left will be cleaned next time.
+	 *
+	 * @param timeBudget maximum time in milliseconds to spend
+	 * @return <code>true</code> if all cache entities to clean are cleaned
+	 */
+	boolean cleanDormantCache(long timeBudget);
+
 	void cleanAll();
 
 	Source getSource(Key key) throws ErrorCodeException;
 
+	/**
+	 * Get sources of the keys in one pass, cached sources are returned directly, and the others are loaded
+	 * in bulk if the cache manager supports it.
+	 *
+	 * @param keys Keys of the sources
+	 * @return sources by keys, in the order of the keys, keys failed to load are absent,
+	 * whose errors are cached and thrown by {@link #getSource(Object)}
+	 */
+	Map<Key, Source> getSources(Collection<Key> keys);
+
 	List<Key> getKeys();
 
 	long getCacheSize();
 
 	void dump(PrintWriter writer);
+
+	/**
+	 * Returns the name of the cache manager, by which its cache policy is configured
+	 *
+	 * @return the name
+	 */
+	String getName();
+
+	/**
+	 * Returns the cache policy of the cache manager, it should not be modified directly,
+	 * call {@link #setCachePolicy(CachePolicy)} instead.
+	 *
+	 * @return the cache policy
+	 */
+	CachePolicy getCachePolicy();
+
+	/**
+	 * Change the cache policy at runtime, it takes effect on cached entities immediately.
+	 *
+	 * @param cachePolicy the new cache policy
+	 */
+	void setCachePolicy(CachePolicy cachePolicy);
+
+	/**
+	 * Returns statistics of the cache manager
+	 *
+	 * @return the statistics
+	 */
+	CacheStatistics getStatistics();
 }
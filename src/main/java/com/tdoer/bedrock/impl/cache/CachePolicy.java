@@ -14,20 +14,82 @@
  * limitations under the License.
  */
 package com.tdoer.bedrock.impl.cache;
+
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
+ * Cache policy of cache managers. Each cache manager holds its own copy of the policy, so
+ * that the policy can be changed at runtime for a cache manager, and the change takes effect
+ * on its cached entities immediately.
+ *
  * @author Htinker Hu (htinker@163.com)
  * @create 2017-09-19
  */
 public class CachePolicy{
 	
-	protected long cleanInterval;
-	protected long cacheDuration;
-	protected long allowedDormantDuration;
+	protected volatile long cleanInterval;
+	protected volatile long cacheDuration;
+	protected volatile long allowedDormantDuration;
+	protected volatile long negativeCacheDuration;
+	protected volatile long errorCacheDuration;
+	protected volatile long maxErrorCacheDuration;
+	protected volatile double errorBackoffMultiplier = 2;
+	protected volatile double errorBackoffJitter = 0.2;
+	protected volatile long staleOnErrorGracePeriod = 0;
+	protected volatile long maxStaleOnErrorDuration = -1;
+	protected volatile long cleanTimeBudget = 10;
+	protected volatile RefreshMode refreshMode;
+	protected volatile double refreshAheadRatio = 0;
+	protected volatile int refreshAheadMinHits = 10;
+	protected volatile int maxConcurrentRefreshes = 4;
+	protected volatile long maximumSize = 0;
 	
 	public CachePolicy(long cleanInterval, long cacheDuration, long allowedDormantDuration){
+		this(cleanInterval, cacheDuration, allowedDormantDuration, RefreshMode.SYNC);
+	}
+
+	public CachePolicy(long cleanInterval, long cacheDuration, long allowedDormantDuration, RefreshMode refreshMode){
 		this.cleanInterval = cleanInterval;
 		this.cacheDuration = cacheDuration;
 		this.allowedDormantDuration = allowedDormantDuration;
+		this.negativeCacheDuration = cacheDuration;
+		this.errorCacheDuration = cacheDuration;
+		this.maxErrorCacheDuration = cacheDuration;
+		this.refreshMode = (refreshMode == null ? RefreshMode.SYNC : refreshMode);
+	}
+
+	/**
+	 * Copy a cache policy
+	 *
+	 * @param policy the policy to copy
+	 */
+	public CachePolicy(CachePolicy policy){
+		this(policy.cleanInterval, policy.cacheDuration, policy.allowedDormantDuration, policy.refreshMode);
+		update(policy);
+	}
+
+	/**
+	 * Update the policy with the settings of the given policy
+	 *
+	 * @param policy the policy to copy settings from
+	 */
+	public void update(CachePolicy policy){
+		this.cleanInterval = policy.cleanInterval;
+		this.cacheDuration = policy.cacheDuration;
+		this.allowedDormantDuration = policy.allowedDormantDuration;
+		this.negativeCacheDuration = policy.negativeCacheDuration;
+		this.errorCacheDuration = policy.errorCacheDuration;
+		this.maxErrorCacheDuration = policy.maxErrorCacheDuration;
+		this.errorBackoffMultiplier = policy.errorBackoffMultiplier;
+		this.errorBackoffJitter = policy.errorBackoffJitter;
+		this.staleOnErrorGracePeriod = policy.staleOnErrorGracePeriod;
+		this.maxStaleOnErrorDuration = policy.maxStaleOnErrorDuration;
+		this.cleanTimeBudget = policy.cleanTimeBudget;
+		this.refreshMode = policy.refreshMode;
+		this.refreshAheadRatio = policy.refreshAheadRatio;
+		this.refreshAheadMinHits = policy.refreshAheadMinHits;
+		this.maxConcurrentRefreshes = policy.maxConcurrentRefreshes;
+		this.maximumSize = policy.maximumSize;
 	}
 	
 	/**
@@ -39,6 +101,20 @@ public class CachePolicy{
 		return cleanInterval;
 	}
 	
+	/**
+	 * Returns the maximum time (milliseconds) a cache manager may spend on cleaning its cache in a clean interval.
+	 * Cache entities left will be cleaned soon after, in following runs of the cleaner.
+	 *
+	 * @return the time budget to clean cache
+	 */
+	public long getCleanTimeBudget(){
+		return cleanTimeBudget;
+	}
+
+	public void setCleanTimeBudget(long cleanTimeBudget){
+		this.cleanTimeBudget = cleanTimeBudget;
+	}
+
 	/**
 	 * Returns the duration (milliseconds) to cache an entity. If an entity is cached longer than the duration,
 	 * the entity's cache will be deemed expired and the entity should be reload when it's requested. If the duration is
@@ -49,6 +125,10 @@ public class CachePolicy{
 	public long getCacheDuration(){
 		return cacheDuration;
 	}
+
+	public void setCacheDuration(long cacheDuration){
+		this.cacheDuration = cacheDuration;
+	}
 	
 	/**
 	 * Returns the allowed dormant duration (milliseconds). If an entity is not requested longer than the dormant duration,
@@ -60,4 +140,224 @@ public class CachePolicy{
 	public long getAllowedDormantDuration(){
 		return allowedDormantDuration;
 	}
-}
\ No newline at end of file
+
+	public void setAllowedDormantDuration(long allowedDormantDuration){
+		this.allowedDormantDuration = allowedDormantDuration;
+	}
+
+	/**
+	 * Returns the duration (milliseconds) to cache a <code>null</code> source, that's, the source was not found.
+	 * It's the same as {@link #getCacheDuration()} unless it's set separately. If the duration is set less than zero,
+	 * <code>null</code> will never be reloaded.
+	 *
+	 * @return the duration to cache a <code>null</code> source
+	 */
+	public long getNegativeCacheDuration(){
+		return negativeCacheDuration;
+	}
+
+	public void setNegativeCacheDuration(long negativeCacheDuration){
+		this.negativeCacheDuration = negativeCacheDuration;
+	}
+
+	/**
+	 * Returns the duration (milliseconds) to cache an error the first time loading a source failed. If loading
+	 * keeps failing, the duration grows by {@link #getErrorBackoffMultiplier()} for each consecutive failure, up to
+	 * {@link #getMaxErrorCacheDuration()}. It's the same as {@link #getCacheDuration()} unless it's set separately.
+	 *
+	 * @return the duration to cache an error
+	 */
+	public long getErrorCacheDuration(){
+		return errorCacheDuration;
+	}
+
+	public void setErrorCacheDuration(long errorCacheDuration){
+		this.errorCacheDuration = errorCacheDuration;
+	}
+
+	/**
+	 * Returns the maximum duration (milliseconds) to cache an error of a source failing to load repeatedly.
+	 *
+	 * @return the maximum duration to cache an error
+	 */
+	public long getMaxErrorCacheDuration(){
+		return maxErrorCacheDuration;
+	}
+
+	public void setMaxErrorCacheDuration(long maxErrorCacheDuration){
+		this.maxErrorCacheDuration = maxErrorCacheDuration;
+	}
+
+	/**
+	 * Returns the factor by which the error cache duration grows for each consecutive failure of a source.
+	 *
+	 * @return the backoff multiplier, 2 by default
+	 */
+	public double getErrorBackoffMultiplier(){
+		return errorBackoffMultiplier;
+	}
+
+	public void setErrorBackoffMultiplier(double errorBackoffMultiplier){
+		this.errorBackoffMultiplier = errorBackoffMultiplier;
+	}
+
+	/**
+	 * Returns the ratio by which the error cache duration is randomly shortened or lengthened, so that
+	 * sources failed at the same time won't be retried at the same time, e.g., 0.2 means &plusmn;20%.
+	 *
+	 * @return the backoff jitter, 0.2 by default
+	 */
+	public double getErrorBackoffJitter(){
+		return errorBackoffJitter;
+	}
+
+	public void setErrorBackoffJitter(double errorBackoffJitter){
+		this.errorBackoffJitter = errorBackoffJitter;
+	}
+
+	/**
+	 * Returns the grace period (milliseconds) to keep serving the previous source when reloading it failed,
+	 * instead of caching the error. The source is retried in background once the grace period is over, and kept
+	 * for another grace period if it fails again. Serving stale on error is disabled if it's not greater than zero,
+	 * that's the default.
+	 *
+	 * @return the grace period
+	 * @see #getMaxStaleOnErrorDuration()
+	 */
+	public long getStaleOnErrorGracePeriod(){
+		return staleOnErrorGracePeriod;
+	}
+
+	public void setStaleOnErrorGracePeriod(long staleOnErrorGracePeriod){
+		this.staleOnErrorGracePeriod = staleOnErrorGracePeriod;
+	}
+
+	/**
+	 * Returns the maximum duration (milliseconds) to keep serving a source since its reloading failed the first time,
+	 * after that the error will be cached as usual. It's unlimited if it's less than zero, that's the default.
+	 *
+	 * @return the maximum duration to serve stale source on error
+	 */
+	public long getMaxStaleOnErrorDuration(){
+		return maxStaleOnErrorDuration;
+	}
+
+	public void setMaxStaleOnErrorDuration(long maxStaleOnErrorDuration){
+		this.maxStaleOnErrorDuration = maxStaleOnErrorDuration;
+	}
+
+	/**
+	 * Compute the duration (milliseconds) to cache an error of the source failed the given times in a row.
+	 *
+	 * @param failures consecutive failures, at least 1
+	 * @return the duration to cache the error, it's less than zero if errors are never reloaded
+	 */
+	public long computeErrorCacheDuration(int failures){
+		long base = errorCacheDuration;
+		if(base < 0){
+			return base;
+		}
+
+		double duration = base * Math.pow(Math.max(1, errorBackoffMultiplier), Math.max(0, failures - 1));
+		long max = maxErrorCacheDuration;
+		if(max >= 0 && duration > Math.max(max, base)){
+			duration = Math.max(max, base);
+		}
+
+		double jitter = errorBackoffJitter;
+		if(jitter > 0){
+			duration *= 1 + jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+		}
+		return (long) duration;
+	}
+
+	/**
+	 * Returns how an expired entity is refreshed. With {@link RefreshMode#ASYNC}, the expired
+	 * source is still returned while it's reloaded in background.
+	 *
+	 * @return the refresh mode, never <code>null</code>
+	 */
+	public RefreshMode getRefreshMode(){
+		return refreshMode;
+	}
+
+	public void setRefreshMode(RefreshMode refreshMode){
+		this.refreshMode = (refreshMode == null ? RefreshMode.SYNC : refreshMode);
+	}
+
+	/**
+	 * Returns the ratio of cache duration, after which a hot entity will be refreshed in background
+	 * before it expires, e.g., 0.8 means refreshing a hot entity at 80% of its cache duration.
+	 * Refresh-ahead is disabled if it's not between 0 and 1 (exclusive), that's the default.
+	 *
+	 * @return the refresh-ahead ratio
+	 * @see #getRefreshAheadMinHits()
+	 */
+	public double getRefreshAheadRatio(){
+		return refreshAheadRatio;
+	}
+
+	public void setRefreshAheadRatio(double refreshAheadRatio){
+		this.refreshAheadRatio = refreshAheadRatio;
+	}
+
+	/**
+	 * Returns how many times an entity must be requested since cached to be deemed hot,
+	 * only hot entities will be refreshed ahead.
+	 *
+	 * @return the minimal hits of hot entity
+	 */
+	public int getRefreshAheadMinHits(){
+		return refreshAheadMinHits;
+	}
+
+	public void setRefreshAheadMinHits(int refreshAheadMinHits){
+		this.refreshAheadMinHits = refreshAheadMinHits;
+	}
+
+	/**
+	 * Returns the maximum number of background refreshes a cache manager may run at the same time,
+	 * either refreshing ahead or refreshing expired entity asynchronously. Further refreshes will be
+	 * skipped until running ones finish.
+	 *
+	 * @return the maximum number of concurrent background refreshes
+	 */
+	public int getMaxConcurrentRefreshes(){
+		return maxConcurrentRefreshes;
+	}
+
+	public void setMaxConcurrentRefreshes(int maxConcurrentRefreshes){
+		this.maxConcurrentRefreshes = maxConcurrentRefreshes;
+	}
+
+	/**
+	 * Returns the maximum size of a cache manager, it's the maximum number of entities, or the maximum
+	 * total weight if the cache manager weighs its sources. Once exceeded, entities will be evicted
+	 * by their request frequency. The cache is unbounded if it's not greater than zero, that's the default.
+	 *
+	 * @return the maximum size
+	 */
+	public long getMaximumSize(){
+		return maximumSize;
+	}
+
+	public void setMaximumSize(long maximumSize){
+		this.maximumSize = maximumSize;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("CachePolicy[cacheDuration=").append(cacheDuration);
+		sb.append(", allowedDormantDuration=").append(allowedDormantDuration);
+		sb.append(", negativeCacheDuration=").append(negativeCacheDuration);
+		sb.append(", errorCacheDuration=").append(errorCacheDuration);
+		sb.append(", maxErrorCacheDuration=").append(maxErrorCacheDuration);
+		sb.append(", staleOnErrorGracePeriod=").append(staleOnErrorGracePeriod);
+		sb.append(", refreshMode=").append(refreshMode);
+		sb.append(", refreshAheadRatio=").append(refreshAheadRatio);
+		sb.append(", maximumSize=").append(maximumSize);
+		sb.append("]");
+		return sb.toString();
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of a cache manager, counters are cumulative since the cache manager is created.
+ * Recording is cheap and contention free, reading a counter is not atomic with others.
+ *
+ * @create 2026-10-18
+ */
+public class CacheStatistics {
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder staleOnErrorCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public void recordHit(){
+        hitCount.increment();
+    }
+
+    public void recordMiss(){
+        missCount.increment();
+    }
+
+    public void recordLoadSuccess(){
+        loadSuccessCount.increment();
+    }
+
+    public void recordLoadFailure(){
+        loadFailureCount.increment();
+    }
+
+    public void recordStaleOnError(){
+        staleOnErrorCount.increment();
+    }
+
+    public void recordEvictions(int count){
+        evictionCount.add(count);
+    }
+
+    /**
+     * Returns how many requests were served from cache without waiting for loading,
+     * including expired sources returned while refreshing
+     *
+     * @return hit count
+     */
+    public long getHitCount(){
+        return hitCount.sum();
+    }
+
+    /**
+     * Returns how many requests had to load, or wait for loading of, their sources
+     *
+     * @return miss count
+     */
+    public long getMissCount(){
+        return missCount.sum();
+    }
+
+    /**
+     * Returns how many times sources were loaded or reloaded, <code>null</code> included
+     *
+     * @return load success count
+     */
+    public long getLoadSuccessCount(){
+        return loadSuccessCount.sum();
+    }
+
+    /**
+     * Returns how many times loading or reloading sources failed with error
+     *
+     * @return load failure count
+     */
+    public long getLoadFailureCount(){
+        return loadFailureCount.sum();
+    }
+
+    /**
+     * Returns how many failed reloads were covered by keeping previous sources, see
+     * {@link CachePolicy#getStaleOnErrorGracePeriod()}. It's the count to alert on, a growing
+     * count means sources are being served stale because their provider is failing.
+     *
+     * @return stale on error count
+     */
+    public long getStaleOnErrorCount(){
+        return staleOnErrorCount.sum();
+    }
+
+    /**
+     * Returns how many cache entities were evicted because of cache size
+     *
+     * @return eviction count
+     */
+    public long getEvictionCount(){
+        return evictionCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("CacheStatistics[hitCount=").append(getHitCount());
+        sb.append(", missCount=").append(getMissCount());
+        sb.append(", loadSuccessCount=").append(getLoadSuccessCount());
+        sb.append(", loadFailureCount=").append(getLoadFailureCount());
+        sb.append(", staleOnErrorCount=").append(getStaleOnErrorCount());
+        sb.append(", evictionCount=").append(getEvictionCount());
+        sb.append("]");
+        return sb.toString();
+    }
+}
@@ -19,7 +19,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 /**
  * @author Htinker Hu (htinker@163.com)
  * @create 2017-09-19
@@ -31,11 +34,78 @@ public class DormantCacheCleaner implements Runnable{
 	protected ArrayList<CacheManager> cacheManagers;
 	protected boolean goon = true;
 	protected byte[] lock;
+	protected CacheExecutor cacheExecutor;
+	protected Map<String, CachePolicy> cachePolicies = new HashMap<>();
+
+	/**
+	 * Default cache executor: up to 8 tasks running, and up to 1000 waiting
+	 */
+	protected static final int EXECUTOR_CONCURRENCY = 8;
+	protected static final int EXECUTOR_CAPACITY = 1000;
+
+	/**
+	 * Pause (milliseconds) before next run if some cache managers ran out of their clean time budget
+	 */
+	protected static final long CLEAN_BACKLOG_PAUSE = 1000;
 
 	public DormantCacheCleaner(CachePolicy cachePolicy){
+		this(cachePolicy, CacheExecutor.create("bedrock-cache-loader", EXECUTOR_CONCURRENCY, EXECUTOR_CAPACITY));
+	}
+
+	public DormantCacheCleaner(CachePolicy cachePolicy, CacheExecutor cacheExecutor){
 		this.cachePolicy = cachePolicy;
+		this.cacheExecutor = cacheExecutor;
 		cacheManagers = new ArrayList<CacheManager>();
 		lock = new byte[0];
+		CacheClock.start();
+
+		logger.info("Cache managers load sources in background with {}", cacheExecutor);
+	}
+
+	/**
+	 * Returns the executor in which cache managers load sources in background, see {@link CacheExecutor}.
+	 *
+	 * @return the cache executor
+	 */
+	public CacheExecutor getCacheExecutor(){
+		return cacheExecutor;
+	}
+
+	/**
+	 * Set cache policies configured for specific cache managers, keyed by cache manager's name,
+	 * see {@link CacheManager#getName()}. Names are case insensitive, and dashes are ignored,
+	 * so both "TokenConfigCacheManager" and "token-config-cache-manager" work.
+	 *
+	 * @param cachePolicies cache policies of cache managers
+	 */
+	public void setCachePolicies(Map<String, CachePolicy> cachePolicies){
+		HashMap<String, CachePolicy> map = new HashMap<>();
+		for(Map.Entry<String, CachePolicy> entry : cachePolicies.entrySet()){
+			map.put(normalize(entry.getKey()), entry.getValue());
+		}
+		synchronized(lock){
+			this.cachePolicies = map;
+		}
+	}
+
+	/**
+	 * Resolve the cache policy of a cache manager, the returned policy is a copy owned by the
+	 * cache manager.
+	 *
+	 * @param cacheManagerName Cache manager's name
+	 * @param defaultPolicy The policy to use if no policy is configured for the cache manager
+	 * @return a copy of the resolved cache policy
+	 */
+	public CachePolicy resolveCachePolicy(String cacheManagerName, CachePolicy defaultPolicy){
+		CachePolicy policy;
+		synchronized(lock){
+			policy = cachePolicies.get(normalize(cacheManagerName));
+		}
+
+		if(policy != null && logger.isDebugEnabled()){
+			logger.debug("Cache manager ({}) uses configured cache policy {}", cacheManagerName, policy);
+		}
+		return new CachePolicy(policy != null ? policy : defaultPolicy);
 	}
 
 	public void registerCacheManager(CacheManager cacheManager){
@@ -78,16 +148,24 @@ public class DormantCacheCleaner implements Runnable{
         cleanDormantCache(list);
     }
 
+	/**
+	 * Stop the cleaner, its cache executor and its use of {@link CacheClock}, it's stopped only once
+	 */
 	public void stop(){
 		synchronized(lock){
+			if(!goon){
+				return;
+			}
 			goon = false;
 		}
+		cacheExecutor.shutdown();
+		CacheClock.stop();
 	}
 
 	@Override
 	public void run() {
-		// at least 1 minute
-		long interval = Math.max(60*1000, cachePolicy.getCleanInterval());
+		// at least 1 second, cache managers only visit the entities due, so a run is cheap
+		long interval = Math.max(1000, cachePolicy.getCleanInterval());
 		ArrayList<CacheManager> list = new ArrayList<CacheManager>();
 
 		if(logger.isDebugEnabled()){
@@ -100,18 +178,20 @@ public class DormantCacheCleaner implements Runnable{
 			}
 
             listCacheManagers(list);
-			cleanDormantCache(list);
+			boolean finished = cleanDormantCache(list);
 			list.clear();
 
 			if(logger.isDebugEnabled()){
 				logger.debug("Finished cleaning dormant cache successfully.");
 			}
 			try{
+				// continue soon if there is cache left to clean
+				long sleep = (finished ? interval : Math.min(interval, CLEAN_BACKLOG_PAUSE));
 				if(logger.isDebugEnabled()){
-					logger.debug("Sleep {} milliseconds after cleaning dormant cache", interval);
+					logger.debug("Sleep {} milliseconds after cleaning dormant cache", sleep);
 				}
 
-				Thread.sleep(interval);
+				Thread.sleep(sleep);
 			}catch(Exception ex){
 				// ignore
 			}
@@ -123,7 +203,13 @@ public class DormantCacheCleaner implements Runnable{
 	}
 
 
-	protected void cleanDormantCache(ArrayList<CacheManager> list){
+	/**
+	 * Clean dormant cache of the cache managers, each within its clean time budget
+	 *
+	 * @return <code>true</code> if all cache managers finished cleaning
+	 */
+	protected boolean cleanDormantCache(ArrayList<CacheManager> list){
+		boolean finished = true;
 		//Note, some cache cleaner may have already been destroyed
 		for(CacheManager cleaner : list){
 			if(cleaner.isValid()){
@@ -132,7 +218,9 @@ public class DormantCacheCleaner implements Runnable{
 						logger.debug("Cache manager ({}): cleaning dormant cache ...", cleaner);
 					}
 
-					cleaner.cleanDormantCache();
+					if(!cleaner.cleanDormantCache(cleaner.getCachePolicy().getCleanTimeBudget())){
+						finished = false;
+					}
 
 					if(logger.isDebugEnabled()){
 						logger.debug("Cache manager ({}): finished cleaning dormant cache successfully.", cleaner);
@@ -146,6 +234,7 @@ public class DormantCacheCleaner implements Runnable{
 				}
 			}
 		}
+		return finished;
 	}
 
     protected void emptyCache(ArrayList<CacheManager> list){
@@ -172,4 +261,11 @@ public class DormantCacheCleaner implements Runnable{
             }
         }
     }
+
+    /**
+     * Normalize the name of a cache manager, names are matched case-insensitively, ignoring dashes
+     */
+    public static String normalize(String name){
+        return name.replace("-", "").toLowerCase(Locale.ENGLISH);
+    }
 }
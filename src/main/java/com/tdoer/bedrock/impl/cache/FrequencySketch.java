@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A probabilistic counter of how often keys are requested, it's a Count-Min sketch
+ * with 4-bit counters, 16 counters are packed in a long and each key is counted at
+ * 4 counters. A key's frequency is the minimum of its 4 counters, so it may be overestimated
+ * but never underestimated. Once the number of increments reaches the sample size, all the
+ * counters are halved, so that the history ages out and recent popularity wins.
+ * <p>
+ * Counters are updated with CAS, so that requesting threads can record accesses without lock.
+ *
+ * @create 2026-10-18
+ */
+class FrequencySketch {
+    private static final long[] SEED = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_TABLE_SIZE = 1 << 24;
+
+    private final AtomicLongArray table;
+    private final int tableMask;
+    private final int sampleSize;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * @param maximumSize Maximum number of keys expected to be counted
+     */
+    FrequencySketch(long maximumSize){
+        int capacity = (int) Math.min(Math.max(maximumSize, 16), MAX_TABLE_SIZE);
+        int tableSize = Integer.highestOneBit(capacity - 1) << 1;
+        this.table = new AtomicLongArray(tableSize);
+        this.tableMask = tableSize - 1;
+        this.sampleSize = 10 * capacity;
+    }
+
+    /**
+     * Returns the estimated number of occurrences of the key, at most 15.
+     *
+     * @param key the key to count
+     * @return estimated frequency
+     */
+    int frequency(Object key){
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for(int i = 0; i < 4; i++){
+            int index = indexOf(hash, i);
+            int count = (int) ((table.get(index) >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Increment the counters of the key, unless they're at the maximum already.
+     *
+     * @param key the key to count
+     */
+    void increment(Object key){
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for(int i = 0; i < 4; i++){
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+
+        if(added && size.incrementAndGet() == sampleSize){
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter){
+        int offset = counter << 2;
+        long mask = 0xfL << offset;
+        long value;
+        do{
+            value = table.get(index);
+            if((value & mask) == mask){
+                return false;
+            }
+        }while(!table.compareAndSet(index, value, value + (1L << offset)));
+        return true;
+    }
+
+    /**
+     * Halve all the counters
+     */
+    private void reset(){
+        for(int i = 0; i < table.length(); i++){
+            long value;
+            do{
+                value = table.get(i);
+            }while(!table.compareAndSet(i, value, (value >>> 1) & RESET_MASK));
+        }
+        size.set(sampleSize / 2);
+    }
+
+    private int indexOf(int item, int i){
+        long hash = (item + SEED[i]) * SEED[i];
+        hash += (hash >>> 32);
+        return ((int) hash) & tableMask;
+    }
+
+    private static int spread(int x){
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.cache;
+
+import org.springframework.lang.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * How an expired cache entity is refreshed
+ *
+ * @create 2026-10-18
+ */
+public enum RefreshMode {
+
+    /**
+     * The requesting thread reloads the expired source and waits for it
+     */
+    SYNC,
+
+    /**
+     * The expired source is returned immediately, and reloaded in background
+     * (stale-while-revalidate)
+     */
+    ASYNC;
+
+    private static final Map<String, RefreshMode> mappings = new HashMap<>(2);
+
+    static {
+        for (RefreshMode mode : values()) {
+            mappings.put(mode.name(), mode);
+        }
+    }
+
+    /**
+     * Resolve the given mode value to an {@code RefreshMode}.
+     * @param mode the mode value as a String
+     * @return the corresponding {@code RefreshMode}, or {@code null} if not found
+     */
+    @Nullable
+    public static RefreshMode resolve(@Nullable String mode) {
+        return (mode != null ? mappings.get(mode) : null);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.cache;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A hashed timing wheel of cache keys, each scheduled at the time its cache entity may need cleaning.
+ * Scheduling, cancelling and polling a key are O(1), a key due more than one round later stays in its
+ * slot and is skipped until its round comes.
+ * <p>
+ * Keys are rescheduled lazily: reading a cache entity doesn't touch the wheel, when a key is polled,
+ * the cache manager checks its entity and schedules it again if it's not to be cleaned yet.
+ * <p>
+ * Note, the class is not thread-safe, callers must synchronize on it.
+ *
+ * @create 2026-10-18
+ */
+class TimingWheel<K> {
+    private final long tickMillis;
+    private final Node<K>[] slots;
+    private final int mask;
+    private final HashMap<K, Node<K>> nodes = new HashMap<>();
+
+    /**
+     * The next tick to poll
+     */
+    private long cursor;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, int wheelSize, long now){
+        this.tickMillis = tickMillis;
+        int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+        this.slots = new Node[size];
+        this.mask = size - 1;
+        this.cursor = now / tickMillis;
+    }
+
+    /**
+     * Schedule the key at the deadline, or move it if it's scheduled already
+     *
+     * @param key cache key
+     * @param deadline time in milliseconds
+     */
+    void schedule(K key, long deadline){
+        Node<K> node = nodes.get(key);
+        if(node == null){
+            node = new Node<>(key);
+            nodes.put(key, node);
+        }else{
+            unlink(node);
+        }
+
+        node.deadline = deadline;
+        // a deadline passed already is polled at next tick, not a round later
+        long tick = Math.max(deadline / tickMillis, cursor);
+        link(node, (int) (tick & mask));
+    }
+
+    void cancel(K key){
+        Node<K> node = nodes.remove(key);
+        if(node != null){
+            unlink(node);
+        }
+    }
+
+    void clear(){
+        nodes.clear();
+        for(int i = 0; i < slots.length; i++){
+            slots[i] = null;
+        }
+    }
+
+    int size(){
+        return nodes.size();
+    }
+
+    /**
+     * Poll keys due by now, up to the given number. Polled keys are removed from the wheel.
+     * If there are more keys due, they will be polled next time.
+     *
+     * @param now current time in milliseconds
+     * @param max maximum number of keys to poll
+     * @param due list to add due keys to
+     * @return <code>true</code> if all due keys are polled
+     */
+    boolean poll(long now, int max, List<K> due){
+        long nowTick = now / tickMillis;
+        int polled = 0;
+        while(cursor <= nowTick){
+            Node<K> node = slots[(int) (cursor & mask)];
+            while(node != null){
+                Node<K> next = node.next;
+                if(node.deadline <= now){
+                    if(polled == max){
+                        // the slot is not finished, poll it again next time
+                        return false;
+                    }
+                    unlink(node);
+                    nodes.remove(node.key);
+                    due.add(node.key);
+                    polled++;
+                }
+                node = next;
+            }
+
+            if(cursor == nowTick){
+                // the current slot will be polled again, for deadlines later in this tick
+                break;
+            }
+            cursor++;
+        }
+        return true;
+    }
+
+    private void link(Node<K> node, int slot){
+        node.slot = slot;
+        node.prev = null;
+        node.next = slots[slot];
+        if(node.next != null){
+            node.next.prev = node;
+        }
+        slots[slot] = node;
+    }
+
+    private void unlink(Node<K> node){
+        if(node.prev != null){
+            node.prev.next = node.next;
+        }else{
+            slots[node.slot] = node.next;
+        }
+        if(node.next != null){
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static final class Node<K> {
+        final K key;
+        long deadline;
+        int slot;
+        Node<K> prev;
+        Node<K> next;
+
+        Node(K key){
+            this.key = key;
+        }
+    }
+}
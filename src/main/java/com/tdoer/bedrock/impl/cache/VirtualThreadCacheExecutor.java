@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Cache executor running each task on a new virtual thread, so that providers blocking on I/O don't hold
+ * platform threads. Virtual threads are created by reflection, since the code is built for Java 8, see
+ * {@link #isSupported()}.
+ * <p>
+ * At most <code>concurrency</code> tasks run at the same time, the others wait on their own virtual threads,
+ * and tasks are rejected once <code>concurrency + capacity</code> tasks are accepted and not finished.
+ *
+ * @create 2026-10-18
+ */
+public class VirtualThreadCacheExecutor implements CacheExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadCacheExecutor.class);
+
+    private static final Method OF_VIRTUAL = findOfVirtual();
+
+    private final ThreadFactory threadFactory;
+
+    private final Semaphore accepted;
+
+    private final Semaphore running;
+
+    private final int concurrency;
+
+    private volatile boolean shutdown;
+
+    public VirtualThreadCacheExecutor(String name, int concurrency, int capacity) {
+        if(OF_VIRTUAL == null){
+            throw new UnsupportedOperationException("Virtual threads are not supported by the JVM");
+        }
+        this.threadFactory = createThreadFactory(name);
+        this.accepted = new Semaphore(concurrency + capacity);
+        this.running = new Semaphore(concurrency);
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Tells whether the JVM supports virtual threads
+     *
+     * @return true if supported
+     */
+    public static boolean isSupported(){
+        return OF_VIRTUAL != null;
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        if(shutdown){
+            throw new RejectedExecutionException("Executor is shut down");
+        }
+        if(!accepted.tryAcquire()){
+            throw new RejectedExecutionException("Executor is saturated");
+        }
+
+        try{
+            threadFactory.newThread(new Runnable() {
+                @Override
+                public void run() {
+                    running.acquireUninterruptibly();
+                    try{
+                        task.run();
+                    }finally{
+                        running.release();
+                        accepted.release();
+                    }
+                }
+            }).start();
+        }catch(RuntimeException | Error ex){
+            accepted.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    @Override
+    public String toString() {
+        return "VirtualThreadCacheExecutor[concurrency=" + concurrency + ", active=" + (concurrency - running.availablePermits()) + "]";
+    }
+
+    private static Method findOfVirtual(){
+        try{
+            return Thread.class.getMethod("ofVirtual");
+        }catch(NoSuchMethodException ex){
+            return null;
+        }
+    }
+
+    private static ThreadFactory createThreadFactory(String name){
+        try{
+            // Thread.ofVirtual().name(name + "-", 1).factory()
+            Object builder = OF_VIRTUAL.invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, name + "-", 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        }catch(Exception ex){
+            logger.error("Failed to create the factory of virtual threads", ex);
+            throw new UnsupportedOperationException("Failed to create the factory of virtual threads", ex);
+        }
+    }
+}
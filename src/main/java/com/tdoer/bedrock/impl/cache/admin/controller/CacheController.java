@@ -16,8 +16,11 @@
 package com.tdoer.bedrock.impl.cache.admin.controller;
 
 import com.tdoer.bedrock.impl.cache.CacheManager;
+import com.tdoer.bedrock.impl.cache.CachePolicy;
 import com.tdoer.bedrock.impl.cache.DormantCacheCleaner;
 import com.tdoer.bedrock.impl.cache.admin.vo.CacheManagerVo;
+import com.tdoer.bedrock.impl.cache.admin.vo.CachePolicyVo;
+import com.tdoer.bedrock.impl.cache.admin.vo.CacheStatisticsVo;
 import com.tdoer.springboot.rest.GenericResponseData;
 import com.tdoer.springboot.rest.ResponseData;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,6 +55,8 @@ public class CacheController {
             vo.setStatus(manager.getStatus());
             vo.setCacheSize(manager.getCacheSize());
             vo.setCacheKeys(manager.getKeys());
+            vo.setCachePolicy(new CachePolicyVo(manager.getCachePolicy()));
+            vo.setStatistics(new CacheStatisticsVo(manager.getStatistics()));
             ret.add(vo);
         }
         return new GenericResponseData<>(ret);
@@ -77,6 +82,43 @@ public class CacheController {
         return new GenericResponseData(map);
     }
 
+    @GetMapping("/manager/{name}/policy")
+    public GenericResponseData<CachePolicyVo> showCachePolicy(
+            @PathVariable String name
+    ) {
+        CacheManager manager = findCacheManager(name);
+        if(manager == null){
+            return new GenericResponseData<>(null);
+        }
+        return new GenericResponseData<>(new CachePolicyVo(manager.getCachePolicy()));
+    }
+
+    @GetMapping("/manager/{name}/statistics")
+    public GenericResponseData<CacheStatisticsVo> showCacheStatistics(
+            @PathVariable String name
+    ) {
+        CacheManager manager = findCacheManager(name);
+        if(manager == null){
+            return new GenericResponseData<>(null);
+        }
+        return new GenericResponseData<>(new CacheStatisticsVo(manager.getStatistics()));
+    }
+
+    @PutMapping("/manager/{name}/policy")
+    public GenericResponseData<CachePolicyVo> updateCachePolicy(
+            @PathVariable String name,
+            @RequestBody CachePolicyVo policyVo
+    ) {
+        CacheManager manager = findCacheManager(name);
+        if(manager == null){
+            return new GenericResponseData<>(null);
+        }
+        CachePolicy policy = new CachePolicy(manager.getCachePolicy());
+        policyVo.applyTo(policy);
+        manager.setCachePolicy(policy);
+        return new GenericResponseData<>(new CachePolicyVo(manager.getCachePolicy()));
+    }
+
     @PostMapping("/cleanDormantCache")
     public ResponseData cleanDormant(){
         try{
@@ -96,4 +138,16 @@ public class CacheController {
             return ResponseData.internalServerError().data(t);
         }
     }
+
+    protected CacheManager findCacheManager(String name){
+        ArrayList<CacheManager> list = new ArrayList<>();
+        cacheCleaner.listCacheManagers(list);
+        String normalized = DormantCacheCleaner.normalize(name);
+        for(CacheManager manager : list){
+            if(DormantCacheCleaner.normalize(manager.getName()).equals(normalized) || manager.getClass().getName().equals(name)){
+                return manager;
+            }
+        }
+        return null;
+    }
 }
@@ -31,6 +31,10 @@ public class CacheManagerVo implements Serializable {
 
     private List<String> cacheKeys;
 
+    private CachePolicyVo cachePolicy;
+
+    private CacheStatisticsVo statistics;
+
     public String getName() {
         return name;
     }
@@ -62,4 +66,20 @@ public class CacheManagerVo implements Serializable {
     public void setCacheKeys(List<String> cacheKeys) {
         this.cacheKeys = cacheKeys;
     }
+
+    public CachePolicyVo getCachePolicy() {
+        return cachePolicy;
+    }
+
+    public void setCachePolicy(CachePolicyVo cachePolicy) {
+        this.cachePolicy = cachePolicy;
+    }
+
+    public CacheStatisticsVo getStatistics() {
+        return statistics;
+    }
+
+    public void setStatistics(CacheStatisticsVo statistics) {
+        this.statistics = statistics;
+    }
 }
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.cache.admin.vo;
+
+import com.tdoer.bedrock.impl.cache.CachePolicy;
+import com.tdoer.bedrock.impl.cache.RefreshMode;
+
+import java.io.Serializable;
+
+/**
+ * Cache policy of a cache manager, fields left <code>null</code> in an update request are
+ * kept unchanged.
+ *
+ * @create 2026-10-18
+ */
+public class CachePolicyVo implements Serializable {
+    private Long cacheDuration;
+
+    private Long dormantDuration;
+
+    private Long negativeCacheDuration;
+
+    private Long errorCacheDuration;
+
+    private Long maxErrorCacheDuration;
+
+    private Double errorBackoffMultiplier;
+
+    private Double errorBackoffJitter;
+
+    private Long staleOnErrorGracePeriod;
+
+    private Long maxStaleOnErrorDuration;
+
+    private Long cleanTimeBudget;
+
+    private Long maximumSize;
+
+    private RefreshMode refreshMode;
+
+    private Double refreshAheadRatio;
+
+    private Integer refreshAheadMinHits;
+
+    private Integer maxConcurrentRefreshes;
+
+    public CachePolicyVo() {
+    }
+
+    public CachePolicyVo(CachePolicy policy) {
+        this.cacheDuration = policy.getCacheDuration();
+        this.dormantDuration = policy.getAllowedDormantDuration();
+        this.negativeCacheDuration = policy.getNegativeCacheDuration();
+        this.errorCacheDuration = policy.getErrorCacheDuration();
+        this.maxErrorCacheDuration = policy.getMaxErrorCacheDuration();
+        this.errorBackoffMultiplier = policy.getErrorBackoffMultiplier();
+        this.errorBackoffJitter = policy.getErrorBackoffJitter();
+        this.staleOnErrorGracePeriod = policy.getStaleOnErrorGracePeriod();
+        this.maxStaleOnErrorDuration = policy.getMaxStaleOnErrorDuration();
+        this.cleanTimeBudget = policy.getCleanTimeBudget();
+        this.maximumSize = policy.getMaximumSize();
+        this.refreshMode = policy.getRefreshMode();
+        this.refreshAheadRatio = policy.getRefreshAheadRatio();
+        this.refreshAheadMinHits = policy.getRefreshAheadMinHits();
+        this.maxConcurrentRefreshes = policy.getMaxConcurrentRefreshes();
+    }
+
+    /**
+     * Apply non-null fields to a cache policy
+     *
+     * @param policy cache policy to apply to
+     */
+    public void applyTo(CachePolicy policy){
+        if(cacheDuration != null){
+            policy.setCacheDuration(cacheDuration);
+        }
+        if(dormantDuration != null){
+            policy.setAllowedDormantDuration(dormantDuration);
+        }
+        if(negativeCacheDuration != null){
+            policy.setNegativeCacheDuration(negativeCacheDuration);
+        }
+        if(errorCacheDuration != null){
+            policy.setErrorCacheDuration(errorCacheDuration);
+        }
+        if(maxErrorCacheDuration != null){
+            policy.setMaxErrorCacheDuration(maxErrorCacheDuration);
+        }
+        if(errorBackoffMultiplier != null){
+            policy.setErrorBackoffMultiplier(errorBackoffMultiplier);
+        }
+        if(errorBackoffJitter != null){
+            policy.setErrorBackoffJitter(errorBackoffJitter);
+        }
+        if(staleOnErrorGracePeriod != null){
+            policy.setStaleOnErrorGracePeriod(staleOnErrorGracePeriod);
+        }
+        if(maxStaleOnErrorDuration != null){
+            policy.setMaxStaleOnErrorDuration(maxStaleOnErrorDuration);
+        }
+        if(cleanTimeBudget != null){
+            policy.setCleanTimeBudget(cleanTimeBudget);
+        }
+        if(maximumSize != null){
+            policy.setMaximumSize(maximumSize);
+        }
+        if(refreshMode != null){
+            policy.setRefreshMode(refreshMode);
+        }
+        if(refreshAheadRatio != null){
+            policy.setRefreshAheadRatio(refreshAheadRatio);
+        }
+        if(refreshAheadMinHits != null){
+            policy.setRefreshAheadMinHits(refreshAheadMinHits);
+        }
+        if(maxConcurrentRefreshes != null){
+            policy.setMaxConcurrentRefreshes(maxConcurrentRefreshes);
+        }
+    }
+
+    public Long getCacheDuration() {
+        return cacheDuration;
+    }
+
+    public void setCacheDuration(Long cacheDuration) {
+        this.cacheDuration = cacheDuration;
+    }
+
+    public Long getDormantDuration() {
+        return dormantDuration;
+    }
+
+    public void setDormantDuration(Long dormantDuration) {
+        this.dormantDuration = dormantDuration;
+    }
+
+    public Long getNegativeCacheDuration() {
+        return negativeCacheDuration;
+    }
+
+    public void setNegativeCacheDuration(Long negativeCacheDuration) {
+        this.negativeCacheDuration = negativeCacheDuration;
+    }
+
+    public Long getErrorCacheDuration() {
+        return errorCacheDuration;
+    }
+
+    public void setErrorCacheDuration(Long errorCacheDuration) {
+        this.errorCacheDuration = errorCacheDuration;
+    }
+
+    public Long getMaxErrorCacheDuration() {
+        return maxErrorCacheDuration;
+    }
+
+    public void setMaxErrorCacheDuration(Long maxErrorCacheDuration) {
+        this.maxErrorCacheDuration = maxErrorCacheDuration;
+    }
+
+    public Double getErrorBackoffMultiplier() {
+        return errorBackoffMultiplier;
+    }
+
+    public void setErrorBackoffMultiplier(Double errorBackoffMultiplier) {
+        this.errorBackoffMultiplier = errorBackoffMultiplier;
+    }
+
+    public Double getErrorBackoffJitter() {
+        return errorBackoffJitter;
+    }
+
+    public void setErrorBackoffJitter(Double errorBackoffJitter) {
+        this.errorBackoffJitter = errorBackoffJitter;
+    }
+
+    public Long getStaleOnErrorGracePeriod() {
+        return staleOnErrorGracePeriod;
+    }
+
+    public void setStaleOnErrorGracePeriod(Long staleOnErrorGracePeriod) {
+        this.staleOnErrorGracePeriod = staleOnErrorGracePeriod;
+    }
+
+    public Long getMaxStaleOnErrorDuration() {
+        return maxStaleOnErrorDuration;
+    }
+
+    public void setMaxStaleOnErrorDuration(Long maxStaleOnErrorDuration) {
+        this.maxStaleOnErrorDuration = maxStaleOnErrorDuration;
+    }
+
+    public Long getCleanTimeBudget() {
+        return cleanTimeBudget;
+    }
+
+    public void setCleanTimeBudget(Long cleanTimeBudget) {
+        this.cleanTimeBudget = cleanTimeBudget;
+    }
+
+    public Long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(Long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public RefreshMode getRefreshMode() {
+        return refreshMode;
+    }
+
+    public void setRefreshMode(RefreshMode refreshMode) {
+        this.refreshMode = refreshMode;
+    }
+
+    public Double getRefreshAheadRatio() {
+        return refreshAheadRatio;
+    }
+
+    public void setRefreshAheadRatio(Double refreshAheadRatio) {
+        this.refreshAheadRatio = refreshAheadRatio;
+    }
+
+    public Integer getRefreshAheadMinHits() {
+        return refreshAheadMinHits;
+    }
+
+    public void setRefreshAheadMinHits(Integer refreshAheadMinHits) {
+        this.refreshAheadMinHits = refreshAheadMinHits;
+    }
+
+    public Integer getMaxConcurrentRefreshes() {
+        return maxConcurrentRefreshes;
+    }
+
+    public void setMaxConcurrentRefreshes(Integer maxConcurrentRefreshes) {
+        this.maxConcurrentRefreshes = maxConcurrentRefreshes;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.cache.admin.vo;
+
+import com.tdoer.bedrock.impl.cache.CacheStatistics;
+
+import java.io.Serializable;
+
+/**
+ * Snapshot of a cache manager's statistics
+ *
+ * @create 2026-10-18
+ */
+public class CacheStatisticsVo implements Serializable {
+    private long hitCount;
+
+    private long missCount;
+
+    private long loadSuccessCount;
+
+    private long loadFailureCount;
+
+    private long staleOnErrorCount;
+
+    private long evictionCount;
+
+    public CacheStatisticsVo() {
+    }
+
+    public CacheStatisticsVo(CacheStatistics statistics) {
+        this.hitCount = statistics.getHitCount();
+        this.missCount = statistics.getMissCount();
+        this.loadSuccessCount = statistics.getLoadSuccessCount();
+        this.loadFailureCount = statistics.getLoadFailureCount();
+        this.staleOnErrorCount = statistics.getStaleOnErrorCount();
+        this.evictionCount = statistics.getEvictionCount();
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public void setMissCount(long missCount) {
+        this.missCount = missCount;
+    }
+
+    public long getLoadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    public void setLoadSuccessCount(long loadSuccessCount) {
+        this.loadSuccessCount = loadSuccessCount;
+    }
+
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    public void setLoadFailureCount(long loadFailureCount) {
+        this.loadFailureCount = loadFailureCount;
+    }
+
+    public long getStaleOnErrorCount() {
+        return staleOnErrorCount;
+    }
+
+    public void setStaleOnErrorCount(long staleOnErrorCount) {
+        this.staleOnErrorCount = staleOnErrorCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public void setEvictionCount(long evictionCount) {
+        this.evictionCount = evictionCount;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.context;
+
+import com.tdoer.bedrock.impl.cache.AbstractCacheManager;
+import com.tdoer.bedrock.impl.cache.CachePolicy;
+import com.tdoer.bedrock.impl.cache.DormantCacheCleaner;
+import com.tdoer.bedrock.impl.definition.context.ContextRoleDefinition;
+import com.tdoer.springboot.error.ErrorCodeException;
+import org.springframework.util.Assert;
+
+import java.util.BitSet;
+
+import static com.tdoer.bedrock.impl.BedrockImplErrorCodes.FAILED_TO_DECIDE_ACCESS;
+
+/**
+ * Caches decisions whether users' roles permit the routes of requests. A decision is <code>null</code> if the user
+ * has roles out of the context domain, which must be checked against the request itself.
+ * <p>
+ * Decisions are keyed by the role access model of the context domain and the version of the user's roles, so
+ * changed models or roles miss the decisions made before, which just expire.
+ * The cache is bounded by {@link #DEFAULT_MAXIMUM_SIZE} and decisions expire in {@link #DEFAULT_CACHE_DURATION},
+ * unless the cache policy of "AccessDecisionCacheManager" is configured.
+ *
+ * @create 2026-10-18
+ */
+public class AccessDecisionCacheManager extends AbstractCacheManager<AccessDecisionKey, Boolean> {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 50000;
+
+    public static final long DEFAULT_CACHE_DURATION = 30*1000;
+
+    public AccessDecisionCacheManager(CachePolicy cachePolicy, DormantCacheCleaner cleaner) {
+        super(shorten(cachePolicy), cleaner);
+    }
+
+    private static CachePolicy shorten(CachePolicy cachePolicy) {
+        Assert.notNull(cachePolicy, "CachePolicy cannot be null");
+
+        CachePolicy ret = new CachePolicy(cachePolicy);
+        ret.setCacheDuration(Math.min(ret.getCacheDuration(), DEFAULT_CACHE_DURATION));
+        ret.setNegativeCacheDuration(Math.min(ret.getNegativeCacheDuration(), DEFAULT_CACHE_DURATION));
+        if(ret.getMaximumSize() <= 0){
+            ret.setMaximumSize(DEFAULT_MAXIMUM_SIZE);
+        }
+        return ret;
+    }
+
+    @Override
+    protected Boolean loadSource(AccessDecisionKey key) throws ErrorCodeException {
+        try{
+            return decide(key);
+        } catch (ErrorCodeException ece) {
+            throw ece;
+        } catch (Throwable t){
+            logger.error("Failed to decide access for {}", key, t);
+            throw new ErrorCodeException(FAILED_TO_DECIDE_ACCESS, t, key);
+        }
+    }
+
+    @Override
+    protected void destroySource(Boolean decision) {
+        // do nothing
+    }
+
+    @Override
+    protected Boolean reloadSource(AccessDecisionKey key, Boolean oldSource) throws ErrorCodeException {
+        return loadSource(key);
+    }
+
+    private Boolean decide(AccessDecisionKey key) {
+        Boolean ret = decide(key.getModel(), key.getRoutes(), key.getUserRoles());
+        if(logger.isDebugEnabled()){
+            logger.debug("{}: Decided access for {}: {}", this, key, ret);
+        }
+        return ret;
+    }
+
+    private Boolean decide(RoleAccessModel model, BitSet routes, UserRoles userRoles) {
+        if(userRoles.isEmpty()){
+            return Boolean.FALSE;
+        }
+
+        boolean decidable = true;
+        for(ContextRoleDefinition role : userRoles.getDefinitions()){
+            BitSet permitted = model.getPermissions(role.getId());
+            if(permitted == null){
+                decidable = false;
+            }else if(permitted.intersects(routes)){
+                return Boolean.TRUE;
+            }
+        }
+        return decidable ? Boolean.FALSE : null;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.context;
+
+import com.tdoer.bedrock.impl.domain.ContextDomain;
+import org.springframework.util.Assert;
+
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Key of an access decision: the user's roles, and the HTTP method and routes of the request resolved by the role
+ * access model of the context domain. Keys of different models, or of different versions of the user's roles, are
+ * never equal, so a decision is never made against the routes resolved by another model, nor against changed roles.
+ *
+ * @create 2026-10-18
+ */
+public class AccessDecisionKey {
+    private final ContextDomain contextDomain;
+
+    private final RoleAccessModel model;
+
+    private final Long userId;
+
+    private final UserRoles userRoles;
+
+    private final String httpMethod;
+
+    /**
+     * Service methods matched by the request, see {@link RoleAccessModel#resolve(String, String)}, it must not be
+     * changed after the key is created
+     */
+    private final BitSet routes;
+
+    private final int hash;
+
+    public AccessDecisionKey(ContextDomain contextDomain, RoleAccessModel model, Long userId, UserRoles userRoles,
+                             String httpMethod, BitSet routes) {
+        Assert.notNull(contextDomain, "Context domain cannot be null");
+        Assert.notNull(model, "Role access model cannot be null");
+        Assert.notNull(userId, "User Id cannot be null");
+        Assert.notNull(userRoles, "User roles cannot be null");
+        Assert.notNull(routes, "Routes cannot be null");
+
+        this.contextDomain = contextDomain;
+        this.model = model;
+        this.userId = userId;
+        this.userRoles = userRoles;
+        this.httpMethod = httpMethod;
+        this.routes = routes;
+
+        int h = contextDomain.hashCode();
+        h = 31 * h + userId.hashCode();
+        h = 31 * h + Long.hashCode(userRoles.getVersion());
+        h = 31 * h + (httpMethod == null ? 0 : httpMethod.hashCode());
+        this.hash = 31 * h + routes.hashCode();
+    }
+
+    public ContextDomain getContextDomain() {
+        return contextDomain;
+    }
+
+    public RoleAccessModel getModel() {
+        return model;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public UserRoles getUserRoles() {
+        return userRoles;
+    }
+
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    public BitSet getRoutes() {
+        return routes;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if(this == obj){
+            return true;
+        }
+        if(!(obj instanceof AccessDecisionKey)){
+            return false;
+        }
+        AccessDecisionKey that = (AccessDecisionKey) obj;
+        return hash == that.hash
+                && model == that.model
+                && userRoles.getVersion() == that.userRoles.getVersion()
+                && Objects.equals(userId, that.userId)
+                && Objects.equals(httpMethod, that.httpMethod)
+                && Objects.equals(routes, that.routes)
+                && Objects.equals(contextDomain, that.contextDomain);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + contextDomain + ", user: " + userId + "@" + userRoles.getVersion() + ", " + httpMethod + " " + routes + "]";
+    }
+}
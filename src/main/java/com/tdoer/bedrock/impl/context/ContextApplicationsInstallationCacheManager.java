@@ -31,10 +31,19 @@ import static com.tdoer.bedrock.impl.BedrockImplErrorCodes.FAILED_TO_LOAD_CONTEX
  */
 public class ContextApplicationsInstallationCacheManager extends AbstractCacheManager<ContextDomain, DefaultContextApplicationInstallation[]> {
     private ContextConfigLoader contextConfigLoader;
+    private ContextBundleCacheManager bundleCacheManager;
     private Logger logger = LoggerFactory.getLogger(ContextApplicationsInstallationCacheManager.class);
 
     public ContextApplicationsInstallationCacheManager(CachePolicy cachePolicy, DormantCacheCleaner cleaner, ContextConfigLoader contextConfigLoader) {
+        this(cachePolicy, cleaner, contextConfigLoader, null);
+    }
+
+    /**
+     * @param bundleCacheManager Cache manager of context bundles to load from, or null to load separately
+     */
+    public ContextApplicationsInstallationCacheManager(CachePolicy cachePolicy, DormantCacheCleaner cleaner, ContextConfigLoader contextConfigLoader, ContextBundleCacheManager bundleCacheManager) {
         super(cachePolicy, cleaner);
+        this.bundleCacheManager = bundleCacheManager;
         Assert.notNull(contextConfigLoader, "ApplicationLoader cannot be null");
         this.contextConfigLoader = contextConfigLoader;
         logger.info("ContextApplicationInstallationCacheManager is initialized");
@@ -44,7 +53,7 @@ public class ContextApplicationsInstallationCacheManager extends AbstractCacheMa
     protected DefaultContextApplicationInstallation[] loadSource(ContextDomain contextDomain) throws ErrorCodeException {
         try{
             logger.info("Loading context application installations for the context domain {} ...", contextDomain);
-            DefaultContextApplicationInstallation[] ret = contextConfigLoader.loadApplicationInstallations(contextDomain.getContextPath(), contextDomain.getProductId(), contextDomain.getClientId(), contextDomain.getTenantId());
+            DefaultContextApplicationInstallation[] ret = load(contextDomain);
             logger.info("Loaded context application installations for the context domain {}.", contextDomain, ret);
             return ret;
         } catch (ErrorCodeException ece) {
@@ -64,7 +73,7 @@ public class ContextApplicationsInstallationCacheManager extends AbstractCacheMa
     protected DefaultContextApplicationInstallation[] reloadSource(ContextDomain contextDomain, DefaultContextApplicationInstallation[] oldSource) throws ErrorCodeException {
         try{
             logger.info("Reloading context application installations for the context domain {} ...", contextDomain);
-            DefaultContextApplicationInstallation[] ret = contextConfigLoader.loadApplicationInstallations(contextDomain.getContextPath(), contextDomain.getProductId(), contextDomain.getClientId(), contextDomain.getTenantId());
+            DefaultContextApplicationInstallation[] ret = load(contextDomain);
             logger.info("Reloaded context application installations for the context domain {}.", contextDomain, ret);
             return ret;
         } catch (ErrorCodeException ece) {
@@ -74,4 +83,12 @@ public class ContextApplicationsInstallationCacheManager extends AbstractCacheMa
             throw new ErrorCodeException(FAILED_TO_LOAD_CONTEXT_APPLICATION_INSTALLATIONS, t, contextDomain);
         }
     }
+
+    private DefaultContextApplicationInstallation[] load(ContextDomain cd){
+        ContextBundle bundle = (bundleCacheManager == null ? null : bundleCacheManager.getBundle(cd));
+        if(bundle != null){
+            return bundle.getApplicationInstallations();
+        }
+        return contextConfigLoader.loadApplicationInstallations(cd.getContextPath(), cd.getProductId(), cd.getClientId(), cd.getTenantId());
+    }
 }
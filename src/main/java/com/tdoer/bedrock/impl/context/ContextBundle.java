@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.context;
+
+import com.tdoer.bedrock.context.PublicAuthority;
+
+/**
+ * Context bundle holds roles, application installations and public authorities of a context domain,
+ * loaded together, so that their cache managers can be filled by one provider call.
+ *
+ * @create 2026-10-18
+ */
+public class ContextBundle {
+    private final DefaultContextRole[] roles;
+
+    private final DefaultContextApplicationInstallation[] applicationInstallations;
+
+    private final PublicAuthority[] publicAuthorities;
+
+    public ContextBundle(DefaultContextRole[] roles, DefaultContextApplicationInstallation[] applicationInstallations, PublicAuthority[] publicAuthorities) {
+        this.roles = roles;
+        this.applicationInstallations = applicationInstallations;
+        this.publicAuthorities = publicAuthorities;
+    }
+
+    public DefaultContextRole[] getRoles() {
+        return roles;
+    }
+
+    public DefaultContextApplicationInstallation[] getApplicationInstallations() {
+        return applicationInstallations;
+    }
+
+    public PublicAuthority[] getPublicAuthorities() {
+        return publicAuthorities;
+    }
+
+    @Override
+    public String toString() {
+        return "ContextBundle[roles=" + roles.length + ", applicationInstallations=" + applicationInstallations.length
+                + ", publicAuthorities=" + publicAuthorities.length + "]";
+    }
+}
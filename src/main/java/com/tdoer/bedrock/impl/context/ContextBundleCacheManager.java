@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.context;
+
+import com.tdoer.bedrock.impl.cache.AbstractCacheManager;
+import com.tdoer.bedrock.impl.cache.CachePolicy;
+import com.tdoer.bedrock.impl.cache.DormantCacheCleaner;
+import com.tdoer.bedrock.impl.cache.RefreshMode;
+import com.tdoer.bedrock.impl.domain.ContextDomain;
+import com.tdoer.springboot.error.ErrorCodeException;
+
+import static com.tdoer.bedrock.impl.BedrockImplErrorCodes.FAILED_TO_LOAD_CONTEXT_BUNDLE;
+
+/**
+ * Caches context bundles, from which {@link ContextRolesCacheManager}, {@link ContextApplicationsInstallationCacheManager}
+ * and {@link PublicAuthoritiesCacheManager} load their sources, so a context domain is loaded by one provider
+ * call. A bundle is loaded before the sources derived from it, so it expires first, and it's always reloaded
+ * synchronously, so that sources reloaded never derive from an expired bundle.
+ *
+ * @create 2026-10-18
+ */
+public class ContextBundleCacheManager extends AbstractCacheManager<ContextDomain, ContextBundle> {
+    private ContextConfigLoader contextConfigLoader;
+
+    public ContextBundleCacheManager(CachePolicy cachePolicy, DormantCacheCleaner cleaner, ContextConfigLoader contextConfigLoader) {
+        super(cachePolicy, cleaner);
+        this.contextConfigLoader = contextConfigLoader;
+    }
+
+    @Override
+    public synchronized void initialize() throws ErrorCodeException {
+        super.initialize();
+        cachePolicy.setRefreshMode(RefreshMode.SYNC);
+    }
+
+    @Override
+    public synchronized void setCachePolicy(CachePolicy policy) {
+        super.setCachePolicy(policy);
+        cachePolicy.setRefreshMode(RefreshMode.SYNC);
+    }
+
+    /**
+     * Returns the bundle of the context domain
+     *
+     * @param contextDomain Context domain
+     * @return the bundle, or null if the context provider doesn't support bundles
+     * @throws ErrorCodeException if failed to load the bundle
+     */
+    public ContextBundle getBundle(ContextDomain contextDomain) throws ErrorCodeException {
+        if(!contextConfigLoader.isBundleSupported()){
+            return null;
+        }
+        return getSource(contextDomain);
+    }
+
+    @Override
+    protected ContextBundle loadSource(ContextDomain contextDomain) throws ErrorCodeException {
+        try{
+            logger.info("Loading context bundle for the context domain {} ...", contextDomain);
+            ContextDomain cd = contextDomain;
+            ContextBundle ret = contextConfigLoader.loadContextBundle(cd.getContextPath(), cd.getProductId(), cd.getClientId(), cd.getTenantId());
+            logger.info("Loaded context bundle for the context domain {}: {}", contextDomain, ret);
+            return ret;
+        } catch (ErrorCodeException ece) {
+            throw ece;
+        } catch (Throwable t){
+            logger.error("Failed to load context bundle for the context domain {}", contextDomain, t);
+            throw new ErrorCodeException(FAILED_TO_LOAD_CONTEXT_BUNDLE, t, contextDomain);
+        }
+    }
+
+    @Override
+    protected void destroySource(ContextBundle contextBundle) {
+        // do nothing
+    }
+
+    @Override
+    protected ContextBundle reloadSource(ContextDomain contextDomain, ContextBundle oldSource) throws ErrorCodeException {
+        try{
+            logger.info("Reloading context bundle for the context domain {} ...", contextDomain);
+            ContextDomain cd = contextDomain;
+            ContextBundle ret = contextConfigLoader.loadContextBundle(cd.getContextPath(), cd.getProductId(), cd.getClientId(), cd.getTenantId());
+            logger.info("Reloaded context bundle for the context domain {}: {}", contextDomain, ret);
+            return ret;
+        } catch (ErrorCodeException ece) {
+            throw ece;
+        } catch (Throwable t){
+            logger.error("Failed to reload context bundle for the context domain {}", contextDomain, t);
+            throw new ErrorCodeException(FAILED_TO_LOAD_CONTEXT_BUNDLE, t, contextDomain);
+        }
+    }
+}
@@ -19,16 +19,22 @@ import com.tdoer.bedrock.context.ContextPath;
 import com.tdoer.bedrock.context.ContextPathParser;
 import com.tdoer.bedrock.context.PublicAuthority;
 import com.tdoer.bedrock.impl.application.DefaultApplicationRepository;
+import com.tdoer.bedrock.impl.definition.DomainDefinition;
 import com.tdoer.bedrock.impl.definition.context.ContextApplicationDefinition;
+import com.tdoer.bedrock.impl.definition.context.ContextBundleDefinition;
 import com.tdoer.bedrock.impl.definition.context.ContextRoleAuthorityDefinition;
 import com.tdoer.bedrock.impl.definition.context.ContextRoleDefinition;
 import com.tdoer.bedrock.impl.definition.context.PublicAuthorityDefinition;
+import com.tdoer.bedrock.impl.domain.ContextDomain;
 import com.tdoer.bedrock.impl.provider.ContextProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 /**
  * @author Htinker Hu (htinker@163.com)
  * @create 2017-09-19
@@ -42,6 +48,8 @@ public class ContextConfigLoader {
 
     private ContextPathParser contextPathParser;
 
+    private volatile boolean bundleSupported = true;
+
     private static final DefaultContextRole[] EMPTY_CONTEXT_ROLES = new DefaultContextRole[0];
 
     private static final DefaultContextApplicationInstallation[] EMPTY_CONTEXT_APPLICATIONS = new DefaultContextApplicationInstallation[0];
@@ -55,13 +63,26 @@ public class ContextConfigLoader {
         this.contextConfigBuilder.setApplicationRepository(applicatinRespository);
     }
 
-    public DefaultContextRole[] loadUserRoles(ContextPath contextPath, Long userId){
-        List<ContextRoleDefinition> roleDefinitionList = contextProvider.getUserRolesInContext(contextPath, userId);
-        return buildContextRoles(roleDefinitionList);
+    /**
+     * Load definitions of the user's roles only, without loading their authorities
+     */
+    public UserRoles loadUserRoleDefinitions(ContextPath contextPath, Long userId){
+        return new UserRoles(contextProvider.getUserRolesInContext(contextPath, userId));
+    }
+
+    /**
+     * Build the user's roles with their authorities
+     */
+    public DefaultContextRole[] buildUserRoles(UserRoles userRoles){
+        return buildContextRoles(userRoles.getDefinitions());
     }
 
     public PublicAuthority[] loadPublicAuthorities(ContextPath contextPath, String productId, String clientId, Long tenantId){
         List<PublicAuthorityDefinition> publicAuthorities = contextProvider.getPublicAuthorities(contextPath, productId, clientId, tenantId);
+        return buildPublicAuthorities(publicAuthorities);
+    }
+
+    protected PublicAuthority[] buildPublicAuthorities(List<PublicAuthorityDefinition> publicAuthorities){
         if(publicAuthorities != null && publicAuthorities.size() > 0){
             ArrayList<DefaultPublicAuthority> list = new ArrayList<>();
             for(PublicAuthorityDefinition definition  : publicAuthorities){
@@ -79,17 +100,50 @@ public class ContextConfigLoader {
         return EMPTY_PUBLIC_AUTHORITIES;
     }
 
+    public boolean isBundleSupported() {
+        return bundleSupported;
+    }
+
+    /**
+     * Load roles, application installations and public authorities of the context domain in one provider call
+     *
+     * @return the bundle, or null if the provider doesn't support it
+     */
+    public ContextBundle loadContextBundle(ContextPath contextPath, String productId, String clientId, Long tenantId){
+        ContextBundleDefinition definition = contextProvider.getContextBundle(contextPath, productId, clientId, tenantId);
+        if(definition == null){
+            if(bundleSupported){
+                bundleSupported = false;
+                logger.info("Context bundle is not supported by the context provider, loading context configurations separately");
+            }
+            return null;
+        }
+
+        return new ContextBundle(buildContextRoles(definition.getRoles(), definition.getRoleAuthorities()),
+                buildApplicationInstallations(definition.getApplications()), buildPublicAuthorities(definition.getPublicAuthorities()));
+    }
+
     public DefaultContextRole[] loadContextRoles(ContextPath contextPath, String productId, String clientId, Long tenantId){
         List<ContextRoleDefinition> roleDefinitionList = contextProvider.getContextRoles(contextPath, productId, clientId, tenantId);
         return buildContextRoles(roleDefinitionList);
     }
 
     protected DefaultContextRole[] buildContextRoles(List<ContextRoleDefinition> roleDefinitionList){
+        return buildContextRoles(roleDefinitionList, null);
+    }
+
+    /**
+     * Build context roles with their authorities, which will be loaded if not given
+     */
+    protected DefaultContextRole[] buildContextRoles(List<ContextRoleDefinition> roleDefinitionList, Map<Long, List<ContextRoleAuthorityDefinition>> authoritiesOfRoles){
         if(roleDefinitionList != null && roleDefinitionList.size() >0){
+            if(authoritiesOfRoles == null){
+                authoritiesOfRoles = loadRoleAuthorities(roleDefinitionList);
+            }
             ArrayList<DefaultContextRole> roleList = new ArrayList<>();
             for(ContextRoleDefinition roleDefinition : roleDefinitionList){
                 DefaultRoleAuthority[] auths = null;
-                List<ContextRoleAuthorityDefinition> authorityDefinitionList = contextProvider.getContextRoleAuthorities(contextPathParser.parse(roleDefinition.getContextPath()), roleDefinition.getId());
+                List<ContextRoleAuthorityDefinition> authorityDefinitionList = authoritiesOfRoles.get(roleDefinition.getId());
                 if(authorityDefinitionList != null){
                     ArrayList<DefaultRoleAuthority> authorityList = new ArrayList<>();
                     for(ContextRoleAuthorityDefinition authorityDefinition : authorityDefinitionList){
@@ -119,9 +173,37 @@ public class ContextConfigLoader {
         return EMPTY_CONTEXT_ROLES;
     }
 
+    /**
+     * Load authorities of the roles, in one provider call per context path
+     */
+    protected Map<Long, List<ContextRoleAuthorityDefinition>> loadRoleAuthorities(List<ContextRoleDefinition> roleDefinitionList){
+        LinkedHashMap<String, List<Long>> roleIdsOfContexts = new LinkedHashMap<>();
+        for(ContextRoleDefinition roleDefinition : roleDefinitionList){
+            List<Long> roleIds = roleIdsOfContexts.get(roleDefinition.getContextPath());
+            if(roleIds == null){
+                roleIds = new ArrayList<>();
+                roleIdsOfContexts.put(roleDefinition.getContextPath(), roleIds);
+            }
+            roleIds.add(roleDefinition.getId());
+        }
+
+        HashMap<Long, List<ContextRoleAuthorityDefinition>> ret = new HashMap<>();
+        for(Map.Entry<String, List<Long>> entry : roleIdsOfContexts.entrySet()){
+            Map<Long, List<ContextRoleAuthorityDefinition>> authorities = contextProvider.getContextRolesAuthorities(contextPathParser.parse(entry.getKey()), entry.getValue());
+            if(authorities != null){
+                ret.putAll(authorities);
+            }
+        }
+        return ret;
+    }
+
     public DefaultContextApplicationInstallation[] loadApplicationInstallations(ContextPath contextPath, String productId, String clientId, Long tenantId){
 
         List<ContextApplicationDefinition> list = contextProvider.getContextApplications(contextPath, productId, clientId, tenantId);
+        return buildApplicationInstallations(list);
+    }
+
+    protected DefaultContextApplicationInstallation[] buildApplicationInstallations(List<ContextApplicationDefinition> list){
         if(list == null || list.size() ==0){
             return EMPTY_CONTEXT_APPLICATIONS;
         }
@@ -139,4 +221,39 @@ public class ContextConfigLoader {
         return installationList.toArray(ret);
     }
 
+
+    public List<ContextDomain> loadContextRoleDomains(){
+        return buildContextDomains(contextProvider.getContextRoleDomains());
+    }
+
+    public List<ContextDomain> loadApplicationInstallationDomains(){
+        return buildContextDomains(contextProvider.getContextApplicationDomains());
+    }
+
+    public List<ContextDomain> loadPublicAuthorityDomains(){
+        return buildContextDomains(contextProvider.getPublicAuthorityDomains());
+    }
+
+    protected List<ContextDomain> buildContextDomains(List<DomainDefinition> definitions){
+        if(definitions == null){
+            return null;
+        }
+
+        ArrayList<ContextDomain> list = new ArrayList<>(definitions.size());
+        for(DomainDefinition definition : definitions){
+            String cp = definition.getContextPath();
+            if(cp == null || cp.length() == 0){
+                logger.warn("Skipped the context domain without context path: {}", definition);
+                continue;
+            }
+            ContextPath contextPath = contextPathParser.parse(cp);
+            Long tenantId = definition.getTenantId();
+            list.add(new ContextDomain(contextPath, definition.getProductId(), definition.getClientId(), tenantId == null ? 0L : tenantId));
+            if(tenantId == null || tenantId == 0){
+                // for all tenants, which is looked up with null tenant Id as well
+                list.add(new ContextDomain(contextPath, definition.getProductId(), definition.getClientId(), null));
+            }
+        }
+        return list;
+    }
 }
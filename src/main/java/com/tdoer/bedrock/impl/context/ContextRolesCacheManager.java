@@ -28,9 +28,18 @@ import static com.tdoer.bedrock.impl.BedrockImplErrorCodes.FAILED_TO_LOAD_CONTEX
  */
 public class ContextRolesCacheManager extends AbstractCacheManager<ContextDomain, DefaultContextRole[]> {
     private ContextConfigLoader contextConfigLoader;
+    private ContextBundleCacheManager bundleCacheManager;
 
     public ContextRolesCacheManager(CachePolicy cachePolicy, DormantCacheCleaner cleaner, ContextConfigLoader contextConfigLoader) {
+        this(cachePolicy, cleaner, contextConfigLoader, null);
+    }
+
+    /**
+     * @param bundleCacheManager Cache manager of context bundles to load from, or null to load separately
+     */
+    public ContextRolesCacheManager(CachePolicy cachePolicy, DormantCacheCleaner cleaner, ContextConfigLoader contextConfigLoader, ContextBundleCacheManager bundleCacheManager) {
         super(cachePolicy, cleaner);
+        this.bundleCacheManager = bundleCacheManager;
         this.contextConfigLoader = contextConfigLoader;
     }
 
@@ -39,7 +48,7 @@ public class ContextRolesCacheManager extends AbstractCacheManager<ContextDomain
         try{
             logger.info("Loading context roles for the context domain {} ...", contextDomain);
             ContextDomain cd = contextDomain;
-            DefaultContextRole[] ret = contextConfigLoader.loadContextRoles(cd.getContextPath(), cd.getProductId(), cd.getClientId(), cd.getTenantId());
+            DefaultContextRole[] ret = load(cd);
             logger.info("Loaded {} context roles for the context domain {}.", ret.length, contextDomain);
             return ret;
         } catch (ErrorCodeException ece) {
@@ -60,7 +69,7 @@ public class ContextRolesCacheManager extends AbstractCacheManager<ContextDomain
         try{
             logger.info("Reloading context roles for the context domain {} ...", contextDomain);
             ContextDomain cd = contextDomain;
-            DefaultContextRole[] ret = contextConfigLoader.loadContextRoles(cd.getContextPath(), cd.getProductId(), cd.getClientId(), cd.getTenantId());
+            DefaultContextRole[] ret = load(cd);
             logger.info("Reloaded {} context roles for the context domain {}.", ret.length, contextDomain);
             return ret;
         } catch (ErrorCodeException ece) {
@@ -70,4 +79,12 @@ public class ContextRolesCacheManager extends AbstractCacheManager<ContextDomain
             throw new ErrorCodeException(FAILED_TO_LOAD_CONTEXT_ROLES, t, contextDomain);
         }
     }
+
+    private DefaultContextRole[] load(ContextDomain cd){
+        ContextBundle bundle = (bundleCacheManager == null ? null : bundleCacheManager.getBundle(cd));
+        if(bundle != null){
+            return bundle.getRoles();
+        }
+        return contextConfigLoader.loadContextRoles(cd.getContextPath(), cd.getProductId(), cd.getClientId(), cd.getTenantId());
+    }
 }
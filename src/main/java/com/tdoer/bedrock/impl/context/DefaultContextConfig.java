@@ -17,14 +17,11 @@ package com.tdoer.bedrock.impl.context;
 
 import com.tdoer.bedrock.CloudEnvironment;
 import com.tdoer.bedrock.CloudEnvironmentHolder;
-import com.tdoer.bedrock.application.Action;
 import com.tdoer.bedrock.application.ApplicationInstallation;
-import com.tdoer.bedrock.application.Page;
 import com.tdoer.bedrock.context.ContextConfig;
 import com.tdoer.bedrock.context.ContextPath;
 import com.tdoer.bedrock.context.ContextRole;
 import com.tdoer.bedrock.context.PublicAuthority;
-import com.tdoer.bedrock.resource.ResourceType;
 import com.tdoer.bedrock.security.AuthenticationUtil;
 import com.tdoer.bedrock.service.ServiceMethod;
 import com.tdoer.bedrock.tenant.User;
@@ -32,6 +29,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Locale;
 /**
@@ -70,9 +68,8 @@ public class DefaultContextConfig implements ContextConfig {
      */
     @Override
     public void listUserRoles(Long userId, List<ContextRole> list) {
-        // todo, all user roles should be available in the context instance
-
-        configCenter.listUserRoles(contextPath, userId, list);
+        CloudEnvironment env = CloudEnvironmentHolder.getEnvironment();
+        configCenter.listUserRoles(contextPath, env.getProductId(), env.getClientId(), env.getTenantId(), userId, list);
     }
 
     /**
@@ -140,47 +137,38 @@ public class DefaultContextConfig implements ContextConfig {
 
     @Override
     public boolean checkServiceMethodAccess(String httpMethod, String path){
-        List<ServiceMethod> methods = new ArrayList<>();
-        List<PublicAuthority> publicAuthorities = new ArrayList<>();
+        CloudEnvironment env = CloudEnvironmentHolder.getEnvironment();
 
         //public resource
-        listPublicAuthorities(publicAuthorities);
-        for(PublicAuthority authority : publicAuthorities){
-            if(ResourceType.PAGE == authority.getResource().getType()){
-                Page pg = (Page) authority.getResource();
-
-                // check page's loading service methods
-                pg.listServiceMethods(methods);
-                for(ServiceMethod method : methods){
-                    if(method.match(httpMethod, path)){
-                        logger.info("HTTP Request ({}, {}) matches Service Method ({}) of Page ({})", httpMethod, path, method, pg);
-                        return true;
-                    }
-                }
-                methods.clear();
-            }else if(ResourceType.ACTION == authority.getResource().getType()){
-                Action action = (Action) authority.getResource();
-                // check page's actions' service methods
-                action.listServiceMethods(methods);
-                for(ServiceMethod method : methods){
-                    if(method.match(httpMethod, path)){
-                        logger.info("HTTP Request ({}, {}) matches Service Method ({}) of Action({})", httpMethod, path, method, action);
-                        return true;
-                    }
-                }
-                methods.clear();
+        ServiceMethod method = configCenter.getPublicAccessIndex(contextPath, env.getProductId(), env.getClientId(), env.getTenantId()).match(httpMethod, path);
+        if(method != null){
+            logger.info("HTTP Request ({}, {}) matches Service Method ({}) of public authorities", httpMethod, path, method);
+            return true;
+        }
+
+        RoleAccessModel model = configCenter.getRoleAccessModel(contextPath, env.getProductId(), env.getClientId(), env.getTenantId());
+        BitSet requested = model.resolve(httpMethod, path);
+        Long userId = AuthenticationUtil.getUser().getId();
+        Boolean decision = configCenter.getAccessDecision(contextPath, env.getProductId(), env.getClientId(), env.getTenantId(),
+                userId, httpMethod, model, requested);
+        if(decision != null){
+            if(logger.isDebugEnabled()){
+                logger.debug("HTTP Request ({}, {}) is {} by cached decision", httpMethod, path, decision ? "permitted" : "denied");
             }
+            return decision;
         }
 
         // check user role's authorities
         List<ContextRole> userRoles = new ArrayList<>();
-<<<<<<< HEAD
-        listCurentUserRoles(userRoles);
-=======
-        listCurrentUserRoles(userRoles);
->>>>>>> 3a2ee00e2fd564c26d90643c691b4fddcafa6448
+        listUserRoles(userId, userRoles);
+        if(userRoles.isEmpty()){
+            return false;
+        }
+
         for (ContextRole role : userRoles) {
-            if (role.permitServiceMethod(httpMethod, path)) {
+            BitSet permitted = model.getPermissions(role.getId());
+            // roles out of the context domain are checked by themselves
+            if (permitted != null ? permitted.intersects(requested) : role.permitServiceMethod(httpMethod, path)) {
                 logger.info("HTTP Request ({}, {}) is permitted by Context Role ({})", httpMethod, path, role);
                 return true;
             }
@@ -15,17 +15,27 @@
  */
 package com.tdoer.bedrock.impl.context;
 
+import com.tdoer.bedrock.CloudEnvironment;
+import com.tdoer.bedrock.CloudEnvironmentHolder;
 import com.tdoer.bedrock.application.ApplicationInstallation;
 import com.tdoer.bedrock.context.ContextConfigCenter;
 import com.tdoer.bedrock.context.ContextPath;
 import com.tdoer.bedrock.context.ContextRole;
 import com.tdoer.bedrock.context.PublicAuthority;
 import com.tdoer.bedrock.impl.cache.CachePolicy;
+import com.tdoer.bedrock.impl.cache.CacheStatistics;
 import com.tdoer.bedrock.impl.cache.DormantCacheCleaner;
+import com.tdoer.bedrock.impl.definition.context.ContextRoleDefinition;
 import com.tdoer.bedrock.impl.domain.ContextDomain;
+import com.tdoer.bedrock.impl.domain.DomainInterner;
+import com.tdoer.bedrock.impl.domain.MergedViewCacheManager;
+import com.tdoer.bedrock.impl.domain.OverrideIndex;
+import com.tdoer.bedrock.impl.service.ServiceMethodRouteIndex;
 import org.springframework.util.Assert;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.List;
 /**
  * @author Htinker Hu (htinker@163.com)
@@ -33,71 +43,267 @@ import java.util.List;
  */
 public class DefaultContextConfigCenter implements ContextConfigCenter {
 
+    private final DomainInterner<ContextDomain> contextDomains = new DomainInterner<>();
+
     private ContextConfigLoader contextConfigLoader;
 
+    private ContextBundleCacheManager bundleCacheManager;
+
     private ContextRolesCacheManager rolesCacheManager;
 
+    private MergedViewCacheManager<ContextDomain, DefaultContextRole> rolesViewCacheManager;
+
+    private RoleAccessCacheManager roleAccessCacheManager;
+
     private ContextApplicationsInstallationCacheManager applicationsInstallationCacheManager;
 
+    private MergedViewCacheManager<ContextDomain, DefaultContextApplicationInstallation> applicationsInstallationViewCacheManager;
+
     private PublicAuthoritiesCacheManager publicAuthoritiesCacheManager;
 
+    private MergedViewCacheManager<ContextDomain, PublicAuthority> publicAuthoritiesViewCacheManager;
+
+    private PublicAccessCacheManager publicAccessCacheManager;
+
+    private UserRolesCacheManager userRolesCacheManager;
+
+    private AccessDecisionCacheManager accessDecisionCacheManager;
+
+    private volatile boolean accessDecisionCacheEnabled;
+
     public DefaultContextConfigCenter(ContextConfigLoader contextConfigLoader, CachePolicy cachePolicy, DormantCacheCleaner cleaner) {
         Assert.notNull(contextConfigLoader, "ContextConfigLoader cannot be null");
         Assert.notNull(cachePolicy, "CachePolicy cannot be null");
         Assert.notNull(cleaner, "DormantObjectCleaner cannot be null");
 
         this.contextConfigLoader = contextConfigLoader;
-        this.rolesCacheManager = new ContextRolesCacheManager(cachePolicy, cleaner, contextConfigLoader);
-        this.applicationsInstallationCacheManager = new ContextApplicationsInstallationCacheManager(cachePolicy, cleaner, contextConfigLoader);
-        this.publicAuthoritiesCacheManager = new PublicAuthoritiesCacheManager(cachePolicy, cleaner, contextConfigLoader);
+        this.bundleCacheManager = new ContextBundleCacheManager(cachePolicy, cleaner, contextConfigLoader);
+        this.rolesCacheManager = new ContextRolesCacheManager(cachePolicy, cleaner, contextConfigLoader, bundleCacheManager);
+        this.applicationsInstallationCacheManager = new ContextApplicationsInstallationCacheManager(cachePolicy, cleaner, contextConfigLoader, bundleCacheManager);
+        this.publicAuthoritiesCacheManager = new PublicAuthoritiesCacheManager(cachePolicy, cleaner, contextConfigLoader, bundleCacheManager);
+        this.userRolesCacheManager = new UserRolesCacheManager(cachePolicy, cleaner, contextConfigLoader);
 
         // Initialize cache managers
+        bundleCacheManager.initialize();
         rolesCacheManager.initialize();
         applicationsInstallationCacheManager.initialize();
         publicAuthoritiesCacheManager.initialize();
+        userRolesCacheManager.initialize();
+
+        // Merged views over the domain lookup chains
+        rolesViewCacheManager = new MergedViewCacheManager<>(cachePolicy, cleaner, rolesCacheManager, contextDomains, DefaultContextRole.class);
+        applicationsInstallationViewCacheManager = new MergedViewCacheManager<>(cachePolicy, cleaner, applicationsInstallationCacheManager, contextDomains, DefaultContextApplicationInstallation.class);
+        publicAuthoritiesViewCacheManager = new MergedViewCacheManager<>(cachePolicy, cleaner, publicAuthoritiesCacheManager, contextDomains, PublicAuthority.class);
+        rolesViewCacheManager.initialize();
+        applicationsInstallationViewCacheManager.initialize();
+        publicAuthoritiesViewCacheManager.initialize();
+        publicAccessCacheManager = new PublicAccessCacheManager(cachePolicy, cleaner, publicAuthoritiesCacheManager, contextDomains);
+        publicAccessCacheManager.initialize();
+        roleAccessCacheManager = new RoleAccessCacheManager(cachePolicy, cleaner, rolesCacheManager, contextDomains);
+        roleAccessCacheManager.initialize();
+        accessDecisionCacheManager = new AccessDecisionCacheManager(cachePolicy, cleaner);
+        accessDecisionCacheManager.initialize();
+
+        // Override indexes to skip the levels without definitions
+        rolesViewCacheManager.setOverrideIndex(new OverrideIndex<ContextDomain>("ContextRoleDomains") {
+            @Override
+            protected Collection<ContextDomain> loadDomains() {
+                return contextConfigLoader.loadContextRoleDomains();
+            }
+        });
+        applicationsInstallationViewCacheManager.setOverrideIndex(new OverrideIndex<ContextDomain>("ContextApplicationDomains") {
+            @Override
+            protected Collection<ContextDomain> loadDomains() {
+                return contextConfigLoader.loadApplicationInstallationDomains();
+            }
+        });
+        publicAuthoritiesViewCacheManager.setOverrideIndex(new OverrideIndex<ContextDomain>("PublicAuthorityDomains") {
+            @Override
+            protected Collection<ContextDomain> loadDomains() {
+                return contextConfigLoader.loadPublicAuthorityDomains();
+            }
+        });
+        publicAccessCacheManager.setOverrideIndex(new OverrideIndex<ContextDomain>("PublicAccessDomains") {
+            @Override
+            protected Collection<ContextDomain> loadDomains() {
+                return contextConfigLoader.loadPublicAuthorityDomains();
+            }
+        });
+        roleAccessCacheManager.setOverrideIndex(new OverrideIndex<ContextDomain>("RoleAccessDomains") {
+            @Override
+            protected Collection<ContextDomain> loadDomains() {
+                return contextConfigLoader.loadContextRoleDomains();
+            }
+        });
     }
 
+    /**
+     * List the user's roles in the context instance, resolved in the context domain of current cloud environment,
+     * see {@link #listUserRoles(ContextPath, String, String, Long, Long, List)}. Without cloud environment, e.g.,
+     * out of requests, there is no context domain, the user's roles are built with their own authorities.
+     */
     @Override
     public void listUserRoles(ContextPath contextPath, Long userId, List<ContextRole> list){
-        // TODO no cache for now
-        DefaultContextRole[] contextRoles = contextConfigLoader.loadUserRoles(contextPath, userId);
-        for(DefaultContextRole role : contextRoles){
-            list.add(role);
+        CloudEnvironment env = CloudEnvironmentHolder.getEnvironment();
+        if(env != null){
+            listUserRoles(contextPath, env.getProductId(), env.getClientId(), env.getTenantId(), userId, list);
+            return;
+        }
+
+        UserRoles userRoles = userRolesCacheManager.getSource(new UserRolesKey(contextPath, userId));
+        if(userRoles != null && !userRoles.isEmpty()){
+            for(DefaultContextRole role : getBuiltRoles(userRoles)){
+                list.add(role);
+            }
         }
     }
 
-    @Override
-    public void listPublicAuthorities(ContextPath contextPath, String productId, String clientId, Long tenantId, List<PublicAuthority> list) {
-        ContextDomain domain = new ContextDomain(contextPath, productId, clientId, tenantId);
-        PublicAuthority[] candidates = null;
-        do{
-            candidates = publicAuthoritiesCacheManager.getSource(domain);
-            if(candidates != null && candidates.length>0){
-                for(PublicAuthority it : candidates){
-                    list.add(it);
+    /**
+     * List the user's roles in the context instance, the roles of the context domain are shared, not built for
+     * the user.
+     */
+    public void listUserRoles(ContextPath contextPath, String productId, String clientId, Long tenantId, Long userId, List<ContextRole> list){
+        UserRoles userRoles = userRolesCacheManager.getSource(new UserRolesKey(contextPath, userId));
+        if(userRoles == null || userRoles.isEmpty()){
+            return;
+        }
+
+        RoleAccessModel model = getRoleAccessModel(contextPath, productId, clientId, tenantId);
+        DefaultContextRole[] built = null;
+        List<ContextRoleDefinition> definitions = userRoles.getDefinitions();
+        for(int i = 0; i < definitions.size(); i++){
+            DefaultContextRole role = model.getRole(definitions.get(i).getId());
+            if(role == null){
+                // the role isn't available in the context domain
+                if(built == null){
+                    built = getBuiltRoles(userRoles);
                 }
+                role = findRole(built, definitions.get(i).getId());
             }
+            if(role != null){
+                list.add(role);
+            }
+        }
+    }
+
+    /**
+     * Invalidate cached roles of the user in the context instance, it should be called once role assignments
+     * of the user are changed.
+     */
+    public void invalidateUserRoles(ContextPath contextPath, Long userId) {
+        userRolesCacheManager.invalidate(contextPath, userId);
+    }
+
+    /**
+     * Invalidate cached roles of the user in all context instances
+     */
+    public void invalidateUserRoles(Long userId) {
+        userRolesCacheManager.invalidateUser(userId);
+    }
 
-            domain = domain.nextLookup();
+    /**
+     * Invalidate cached roles of all users in the context instance
+     */
+    public void invalidateUserRoles(ContextPath contextPath) {
+        userRolesCacheManager.invalidateContext(contextPath);
+    }
 
-        } while(domain != null);
+    private DefaultContextRole[] getBuiltRoles(UserRoles userRoles) {
+        DefaultContextRole[] roles = userRoles.getRoles();
+        if(roles == null){
+            // built once for the cached user roles, racing builds are harmless
+            roles = contextConfigLoader.buildUserRoles(userRoles);
+            userRoles.setRoles(roles);
+        }
+        return roles;
+    }
+
+    private DefaultContextRole findRole(DefaultContextRole[] roles, Long roleId) {
+        for(DefaultContextRole role : roles){
+            if(role.getId().equals(roleId)){
+                return role;
+            }
+        }
+        return null;
     }
 
     @Override
-    public void listContextRoles(ContextPath contextPath, String productId, String clientId, Long tenantId, List<ContextRole> list) {
-        ContextDomain domain = new ContextDomain(contextPath, productId, clientId, tenantId);
-        DefaultContextRole[] candidates = null;
-        do{
-            candidates = rolesCacheManager.getSource(domain);
-            if(candidates != null && candidates.length>0){
-                for(DefaultContextRole it : candidates){
-                    list.add(it);
-                }
+    public void listPublicAuthorities(ContextPath contextPath, String productId, String clientId, Long tenantId, List<PublicAuthority> list) {
+        PublicAuthority[] candidates = publicAuthoritiesViewCacheManager.getSource(new ContextDomain(contextPath, productId, clientId, tenantId));
+        if(candidates != null && candidates.length>0){
+            for(PublicAuthority it : candidates){
+                list.add(it);
             }
+        }
+    }
+
+    /**
+     * Get route index of service methods which can be accessed publicly in the context domain
+     *
+     * @return the route index, not null
+     */
+    public ServiceMethodRouteIndex getPublicAccessIndex(ContextPath contextPath, String productId, String clientId, Long tenantId) {
+        return publicAccessCacheManager.getSource(new ContextDomain(contextPath, productId, clientId, tenantId));
+    }
 
-            domain = domain.nextLookup();
+    /**
+     * Get role access model of the context domain
+     *
+     * @return the model, not null
+     */
+    public RoleAccessModel getRoleAccessModel(ContextPath contextPath, String productId, String clientId, Long tenantId) {
+        return roleAccessCacheManager.getSource(new ContextDomain(contextPath, productId, clientId, tenantId));
+    }
+
+    public boolean isAccessDecisionCacheEnabled() {
+        return accessDecisionCacheEnabled;
+    }
 
-        } while(domain != null);
+    /**
+     * Enable or disable the cache of access decisions, it's disabled by default
+     */
+    public void setAccessDecisionCacheEnabled(boolean accessDecisionCacheEnabled) {
+        this.accessDecisionCacheEnabled = accessDecisionCacheEnabled;
+        if(!accessDecisionCacheEnabled){
+            accessDecisionCacheManager.cleanAll();
+        }
+    }
+
+    /**
+     * Get the cached decision whether the user's roles permit the routes resolved by the role access model
+     *
+     * @param model Role access model of the context domain
+     * @param routes Routes resolved by the model, see {@link RoleAccessModel#resolve(String, String)}
+     * @return the decision, or null if the cache is disabled or the decision must be made against the request
+     */
+    public Boolean getAccessDecision(ContextPath contextPath, String productId, String clientId, Long tenantId, Long userId,
+                                     String httpMethod, RoleAccessModel model, BitSet routes) {
+        if(!accessDecisionCacheEnabled){
+            return null;
+        }
+        UserRoles userRoles = userRolesCacheManager.getSource(new UserRolesKey(contextPath, userId));
+        if(userRoles == null){
+            return null;
+        }
+        return accessDecisionCacheManager.getSource(new AccessDecisionKey(new ContextDomain(contextPath, productId, clientId, tenantId),
+                model, userId, userRoles, httpMethod, routes));
+    }
+
+    /**
+     * Hit and miss statistics of the access decision cache
+     */
+    public CacheStatistics getAccessDecisionStatistics() {
+        return accessDecisionCacheManager.getStatistics();
+    }
+
+    @Override
+    public void listContextRoles(ContextPath contextPath, String productId, String clientId, Long tenantId, List<ContextRole> list) {
+        DefaultContextRole[] candidates = rolesViewCacheManager.getSource(new ContextDomain(contextPath, productId, clientId, tenantId));
+        if(candidates != null && candidates.length>0){
+            for(DefaultContextRole it : candidates){
+                list.add(it);
+            }
+        }
     }
 
     @Override
@@ -114,19 +320,12 @@ public class DefaultContextConfigCenter implements ContextConfigCenter {
 
     @Override
     public void listApplicationInstallation(ContextPath contextPath, String productId, String clientId, Long tenantId, List<ApplicationInstallation> list) {
-        ContextDomain domain = new ContextDomain(contextPath, productId, clientId, tenantId);
-        DefaultContextApplicationInstallation[] candidates = null;
-        do{
-            candidates = applicationsInstallationCacheManager.getSource(domain);
-            if(candidates != null && candidates.length>0){
-                for(DefaultContextApplicationInstallation it : candidates){
-                    list.add(it);
-                }
+        DefaultContextApplicationInstallation[] candidates = applicationsInstallationViewCacheManager.getSource(new ContextDomain(contextPath, productId, clientId, tenantId));
+        if(candidates != null && candidates.length>0){
+            for(DefaultContextApplicationInstallation it : candidates){
+                list.add(it);
             }
-
-            domain = domain.nextLookup();
-
-        } while(domain != null);
+        }
     }
 
     @Override
@@ -19,6 +19,7 @@ import com.tdoer.bedrock.application.ApplicationResource;
 import com.tdoer.bedrock.context.ContextPath;
 import com.tdoer.bedrock.context.RoleAuthority;
 import com.tdoer.bedrock.impl.definition.context.ContextRoleDefinition;
+import com.tdoer.bedrock.impl.service.ServiceMethodRouteIndex;
 import com.tdoer.bedrock.service.ServiceMethod;
 import org.springframework.security.access.AccessDecisionManager;
 
@@ -36,6 +37,11 @@ public class DefaultContextRole implements com.tdoer.bedrock.context.ContextRole
 
     private DefaultRoleAuthority[] authorities;
 
+    /**
+     * Route index of service methods permitted, built at the first check
+     */
+    private volatile ServiceMethodRouteIndex routeIndex;
+
     public DefaultContextRole(ContextRoleDefinition definition, ContextPath contextPath, DefaultRoleAuthority[] authorities) {
         this.definition = definition;
         this.contextPath = contextPath;
@@ -79,20 +85,29 @@ public class DefaultContextRole implements com.tdoer.bedrock.context.ContextRole
 
     @Override
     public boolean permitServiceMethod(String httpMethod, String path) {
-        ApplicationResource resource = null;
-        for(DefaultRoleAuthority authority : authorities){
-            if(authority.getResource() instanceof ApplicationResource){
-                resource = (ApplicationResource) authority.getResource();
-                ArrayList<ServiceMethod> list = new ArrayList<>();
-                resource.listServiceMethods(list);
-                for(ServiceMethod method : list){
-                    if(method.match(httpMethod, path)){
-                        return true;
-                    }
+        ServiceMethodRouteIndex index = routeIndex;
+        if(index == null){
+            ArrayList<ServiceMethod> list = new ArrayList<>();
+            listServiceMethods(list);
+            index = new ServiceMethodRouteIndex(list);
+            routeIndex = index;
+        }
+        return index.match(httpMethod, path) != null;
+    }
+
+    /**
+     * List service methods of the application resources the role has authorities of
+     *
+     * @param list List to add the service methods to
+     */
+    public void listServiceMethods(List<ServiceMethod> list) {
+        if(authorities != null){
+            for(DefaultRoleAuthority authority : authorities){
+                if(authority.getResource() instanceof ApplicationResource){
+                    ((ApplicationResource) authority.getResource()).listServiceMethods(list);
                 }
             }
         }
-        return false;
     }
 
     @Override
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.context;
+
+import com.tdoer.bedrock.application.Action;
+import com.tdoer.bedrock.application.Page;
+import com.tdoer.bedrock.context.PublicAuthority;
+import com.tdoer.bedrock.impl.cache.CachePolicy;
+import com.tdoer.bedrock.impl.cache.DormantCacheCleaner;
+import com.tdoer.bedrock.impl.domain.AbstractMergedCacheManager;
+import com.tdoer.bedrock.impl.domain.ContextDomain;
+import com.tdoer.bedrock.impl.domain.DomainInterner;
+import com.tdoer.bedrock.impl.service.ServiceMethodRouteIndex;
+import com.tdoer.bedrock.resource.ResourceType;
+import com.tdoer.bedrock.service.ServiceMethod;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Caches the public access model of context domains, that's, the route index of service methods of the pages
+ * and actions which are public authorities in the lookup chain of the domain. It's rebuilt once the public
+ * authorities of any level are changed.
+ *
+ * @create 2026-10-18
+ */
+public class PublicAccessCacheManager extends AbstractMergedCacheManager<ContextDomain, PublicAuthority[], ServiceMethodRouteIndex> {
+
+    public PublicAccessCacheManager(CachePolicy cachePolicy, DormantCacheCleaner cleaner, PublicAuthoritiesCacheManager levelCacheManager,
+                                    DomainInterner<ContextDomain> interner) {
+        super(cachePolicy, cleaner, levelCacheManager, interner);
+    }
+
+    @Override
+    public String getName() {
+        return "PublicAccessCacheManager";
+    }
+
+    @Override
+    protected ServiceMethodRouteIndex mergeLevels(ContextDomain domain, List<PublicAuthority[]> levels) {
+        LinkedHashSet<PublicAuthority> authorities = new LinkedHashSet<>();
+        for(PublicAuthority[] level : levels){
+            Collections.addAll(authorities, level);
+        }
+
+        ArrayList<ServiceMethod> methods = new ArrayList<>();
+        for(PublicAuthority authority : authorities){
+            if(ResourceType.PAGE == authority.getResource().getType()){
+                // page's loading service methods
+                ((Page) authority.getResource()).listServiceMethods(methods);
+            }else if(ResourceType.ACTION == authority.getResource().getType()){
+                ((Action) authority.getResource()).listServiceMethods(methods);
+            }
+        }
+
+        if(logger.isDebugEnabled()){
+            logger.debug("{}: Indexed {} service methods of {} public authorities for the context domain {}", this,
+                    methods.size(), authorities.size(), domain);
+        }
+        return methods.isEmpty() ? ServiceMethodRouteIndex.EMPTY : new ServiceMethodRouteIndex(methods);
+    }
+}
@@ -30,9 +30,18 @@ import static com.tdoer.bedrock.impl.BedrockImplErrorCodes.FAILED_TO_LOAD_PUBLIC
  */
 public class PublicAuthoritiesCacheManager extends AbstractCacheManager<ContextDomain, PublicAuthority[]> {
     private ContextConfigLoader contextConfigLoader;
+    private ContextBundleCacheManager bundleCacheManager;
 
     public PublicAuthoritiesCacheManager(CachePolicy cachePolicy, DormantCacheCleaner cleaner, ContextConfigLoader contextConfigLoader) {
+        this(cachePolicy, cleaner, contextConfigLoader, null);
+    }
+
+    /**
+     * @param bundleCacheManager Cache manager of context bundles to load from, or null to load separately
+     */
+    public PublicAuthoritiesCacheManager(CachePolicy cachePolicy, DormantCacheCleaner cleaner, ContextConfigLoader contextConfigLoader, ContextBundleCacheManager bundleCacheManager) {
         super(cachePolicy, cleaner);
+        this.bundleCacheManager = bundleCacheManager;
         this.contextConfigLoader = contextConfigLoader;
     }
 
@@ -40,7 +49,7 @@ public class PublicAuthoritiesCacheManager extends AbstractCacheManager<ContextD
     protected PublicAuthority[] loadSource(ContextDomain contextDomain) throws ErrorCodeException {
         try{
             logger.info("Loading public authorities for the context domain {} ...", contextDomain);
-            PublicAuthority[] ret = contextConfigLoader.loadPublicAuthorities(contextDomain.getContextPath(), contextDomain.getProductId(), contextDomain.getClientId(), contextDomain.getTenantId());
+            PublicAuthority[] ret = load(contextDomain);
             logger.info("Loaded public authorities for the context domain {}.", contextDomain, ret);
             return ret;
         } catch (ErrorCodeException ece) {
@@ -61,7 +70,7 @@ public class PublicAuthoritiesCacheManager extends AbstractCacheManager<ContextD
     protected PublicAuthority[] reloadSource(ContextDomain contextDomain, PublicAuthority[] oldSource) throws ErrorCodeException {
         try{
             logger.info("Reloading public authorities for the context domain {} ...", contextDomain);
-            PublicAuthority[] ret = contextConfigLoader.loadPublicAuthorities(contextDomain.getContextPath(), contextDomain.getProductId(), contextDomain.getClientId(), contextDomain.getTenantId());
+            PublicAuthority[] ret = load(contextDomain);
             logger.info("Reloaded public authorities for the context domain {}.", contextDomain, ret);
             return ret;
         } catch (ErrorCodeException ece) {
@@ -71,4 +80,12 @@ public class PublicAuthoritiesCacheManager extends AbstractCacheManager<ContextD
             throw new ErrorCodeException(FAILED_TO_LOAD_PUBLIC_AUTHORITIES, t, contextDomain);
         }
     }
+
+    private PublicAuthority[] load(ContextDomain cd){
+        ContextBundle bundle = (bundleCacheManager == null ? null : bundleCacheManager.getBundle(cd));
+        if(bundle != null){
+            return bundle.getPublicAuthorities();
+        }
+        return contextConfigLoader.loadPublicAuthorities(cd.getContextPath(), cd.getProductId(), cd.getClientId(), cd.getTenantId());
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.context;
+
+import com.tdoer.bedrock.impl.cache.CachePolicy;
+import com.tdoer.bedrock.impl.cache.DormantCacheCleaner;
+import com.tdoer.bedrock.impl.domain.AbstractMergedCacheManager;
+import com.tdoer.bedrock.impl.domain.ContextDomain;
+import com.tdoer.bedrock.impl.domain.DomainInterner;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Caches the role access model of context domains, built from the context roles in the lookup chain of the
+ * domain, and rebuilt once the roles of any level are changed.
+ *
+ * @create 2026-10-18
+ */
+public class RoleAccessCacheManager extends AbstractMergedCacheManager<ContextDomain, DefaultContextRole[], RoleAccessModel> {
+
+    public RoleAccessCacheManager(CachePolicy cachePolicy, DormantCacheCleaner cleaner, ContextRolesCacheManager levelCacheManager,
+                                  DomainInterner<ContextDomain> interner) {
+        super(cachePolicy, cleaner, levelCacheManager, interner);
+    }
+
+    @Override
+    public String getName() {
+        return "RoleAccessCacheManager";
+    }
+
+    @Override
+    protected RoleAccessModel mergeLevels(ContextDomain domain, List<DefaultContextRole[]> levels) {
+        LinkedHashSet<DefaultContextRole> roles = new LinkedHashSet<>();
+        for(DefaultContextRole[] level : levels){
+            Collections.addAll(roles, level);
+        }
+
+        RoleAccessModel ret = new RoleAccessModel(roles);
+        if(logger.isDebugEnabled()){
+            logger.debug("{}: Built {} for the context domain {}", this, ret, domain);
+        }
+        return ret;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.context;
+
+import com.tdoer.bedrock.impl.service.ServiceMethodRouteIndex;
+import com.tdoer.bedrock.service.ServiceMethod;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+
+/**
+ * Role access model of a context domain. Service methods permitted by the roles of the domain are numbered
+ * densely, each role is compiled into a bitmap of the numbers of the service methods it permits, and a request
+ * is resolved into a bitmap of the numbers of the service methods it matches through one route index. So whether
+ * a role permits a request is whether their bitmaps intersect. It's immutable once built.
+ *
+ * @create 2026-10-18
+ */
+public class RoleAccessModel {
+
+    private static final BitSet NONE = new BitSet(0);
+
+    private final ServiceMethodRouteIndex routeIndex;
+
+    /**
+     * Numbers of service methods by method Ids
+     */
+    private final HashMap<Long, Integer> ordinals = new HashMap<>();
+
+    /**
+     * Permissions of roles by role Ids
+     */
+    private final HashMap<Long, BitSet> permissions = new HashMap<>();
+
+    private final HashMap<Long, DefaultContextRole> roles = new HashMap<>();
+
+    /**
+     * @param roles Roles of the context domain, a role is overridden by the role of the same Id before it
+     */
+    public RoleAccessModel(Collection<DefaultContextRole> roles) {
+        ArrayList<ServiceMethod> methods = new ArrayList<>();
+        ArrayList<ServiceMethod> list = new ArrayList<>();
+        for(DefaultContextRole role : roles){
+            if(permissions.containsKey(role.getId())){
+                continue;
+            }
+
+            role.listServiceMethods(list);
+            BitSet bits = new BitSet();
+            for(ServiceMethod method : list){
+                Integer ordinal = ordinals.get(method.getId());
+                if(ordinal == null){
+                    ordinal = methods.size();
+                    ordinals.put(method.getId(), ordinal);
+                    methods.add(method);
+                }
+                bits.set(ordinal);
+            }
+            permissions.put(role.getId(), bits);
+            this.roles.put(role.getId(), role);
+            list.clear();
+        }
+        this.routeIndex = (methods.isEmpty() ? ServiceMethodRouteIndex.EMPTY : new ServiceMethodRouteIndex(methods));
+    }
+
+    /**
+     * Resolve the request into the service methods it matches
+     *
+     * @return bitmap of the numbers of the service methods matched
+     */
+    public BitSet resolve(String httpMethod, String path) {
+        if(routeIndex.isEmpty()){
+            return NONE;
+        }
+
+        ArrayList<ServiceMethod> matched = new ArrayList<>(2);
+        routeIndex.listMatches(httpMethod, path, matched);
+        if(matched.isEmpty()){
+            return NONE;
+        }
+        BitSet ret = new BitSet(ordinals.size());
+        for(ServiceMethod method : matched){
+            ret.set(ordinals.get(method.getId()));
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the bitmap of the numbers of the service methods permitted by the role
+     *
+     * @param roleId Role Id
+     * @return the bitmap, or null if the role is not a role of the context domain
+     */
+    public BitSet getPermissions(Long roleId) {
+        return permissions.get(roleId);
+    }
+
+    /**
+     * Returns the role of the context domain
+     *
+     * @param roleId Role Id
+     * @return the role, or null if it's not a role of the context domain
+     */
+    public DefaultContextRole getRole(Long roleId) {
+        return roles.get(roleId);
+    }
+
+    public int getRoleCount() {
+        return permissions.size();
+    }
+
+    public int getServiceMethodCount() {
+        return ordinals.size();
+    }
+
+    @Override
+    public String toString() {
+        return "RoleAccessModel[roles=" + permissions.size() + ", serviceMethods=" + ordinals.size() + "]";
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.context;
+
+import com.tdoer.bedrock.impl.definition.context.ContextRoleDefinition;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A user's roles in a context instance, held as role definitions, which are resolved to the roles shared by
+ * the context domain, see {@link RoleAccessModel#getRole(Long)}. Roles not in the context domain are built
+ * once on demand.
+ * <p>
+ * The version stamps the role ids of the user in the context instance, it's kept by reloads which don't change
+ * the role ids, so decisions keyed by the version stay valid.
+ *
+ * @create 2026-10-18
+ */
+public class UserRoles {
+    private final List<ContextRoleDefinition> definitions;
+
+    /**
+     * Roles built from the definitions, with their own authorities
+     */
+    private volatile DefaultContextRole[] roles;
+
+    private long version;
+
+    public UserRoles(List<ContextRoleDefinition> definitions) {
+        this.definitions = (definitions == null ? Collections.<ContextRoleDefinition>emptyList() : Collections.unmodifiableList(definitions));
+    }
+
+    public List<ContextRoleDefinition> getDefinitions() {
+        return definitions;
+    }
+
+    public boolean isEmpty() {
+        return definitions.isEmpty();
+    }
+
+    public DefaultContextRole[] getRoles() {
+        return roles;
+    }
+
+    public void setRoles(DefaultContextRole[] roles) {
+        this.roles = roles;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Set the version before the user roles are cached, see {@link UserRolesCacheManager}
+     */
+    void setVersion(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Whether the role ids are the same as those of other user roles, in the same order
+     */
+    public boolean hasSameRoles(UserRoles other) {
+        if(other == null || other.definitions.size() != definitions.size()){
+            return false;
+        }
+        for(int i = 0; i < definitions.size(); i++){
+            if(!Objects.equals(definitions.get(i).getId(), other.definitions.get(i).getId())){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "UserRoles[roles=" + definitions.size() + ", version=" + version + "]";
+    }
+}
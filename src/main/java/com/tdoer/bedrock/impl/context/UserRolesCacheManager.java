@@ -0,0 +1,194 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.context;
+
+import com.tdoer.bedrock.context.ContextPath;
+import com.tdoer.bedrock.impl.cache.AbstractCacheManager;
+import com.tdoer.bedrock.impl.cache.CacheEntity;
+import com.tdoer.bedrock.impl.cache.CachePolicy;
+import com.tdoer.bedrock.impl.cache.DormantCacheCleaner;
+import com.tdoer.springboot.error.ErrorCodeException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.tdoer.bedrock.impl.BedrockImplErrorCodes.FAILED_TO_LOAD_USER_ROLES;
+
+/**
+ * Caches users' roles in context instances. The cache is bounded, by {@link #DEFAULT_MAXIMUM_SIZE} unless the
+ * cache policy sets the maximum size, and user roles should be invalidated once role assignments are changed.
+ * Cached keys are indexed by user and by context path, so invalidating them doesn't scan the cache.
+ * <p>
+ * Loaded user roles are stamped with a new version from a sequence, reloaded user roles keep the version if their
+ * role ids are not changed, see {@link AccessDecisionKey}.
+ *
+ * @create 2026-10-18
+ */
+public class UserRolesCacheManager extends AbstractCacheManager<UserRolesKey, UserRoles> {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+
+    private ContextConfigLoader contextConfigLoader;
+
+    private final ConcurrentHashMap<Long, Set<UserRolesKey>> keysByUser = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<ContextPath, Set<UserRolesKey>> keysByContext = new ConcurrentHashMap<>();
+
+    /**
+     * Guards indexing of put keys against unindexing of removed keys
+     */
+    private final Object indexLock = new Object();
+
+    /**
+     * Sequence of versions, never reused, so a version never stamps different role ids
+     */
+    private final AtomicLong versions = new AtomicLong();
+
+    public UserRolesCacheManager(CachePolicy cachePolicy, DormantCacheCleaner cleaner, ContextConfigLoader contextConfigLoader) {
+        super(cachePolicy, cleaner);
+        this.contextConfigLoader = contextConfigLoader;
+    }
+
+    @Override
+    public synchronized void initialize() throws ErrorCodeException {
+        super.initialize();
+        if(cachePolicy.getMaximumSize() <= 0){
+            cachePolicy.setMaximumSize(DEFAULT_MAXIMUM_SIZE);
+            resize(DEFAULT_MAXIMUM_SIZE);
+        }
+    }
+
+    /**
+     * Invalidate roles of the user in the context instance
+     */
+    public void invalidate(ContextPath contextPath, Long userId) {
+        removeCacheEntity(new UserRolesKey(contextPath, userId));
+    }
+
+    /**
+     * Invalidate roles of the user in all context instances
+     */
+    public void invalidateUser(Long userId) {
+        invalidate(keysByUser, userId);
+    }
+
+    /**
+     * Invalidate roles of all users in the context instance
+     */
+    public void invalidateContext(ContextPath contextPath) {
+        invalidate(keysByContext, contextPath);
+    }
+
+    private <T> void invalidate(Map<T, Set<UserRolesKey>> index, T value) {
+        ArrayList<UserRolesKey> keys;
+        synchronized (indexLock){
+            Set<UserRolesKey> indexed = index.get(value);
+            if(indexed == null){
+                return;
+            }
+            keys = new ArrayList<>(indexed);
+        }
+        for(UserRolesKey key : keys){
+            removeCacheEntity(key);
+        }
+    }
+
+    @Override
+    protected void putCacheEntity(UserRolesKey key, CacheEntity<UserRoles> entity) {
+        super.putCacheEntity(key, entity);
+        synchronized (indexLock){
+            if(getCacheEntity(key) != null){
+                index(keysByUser, key.getUserId(), key);
+                index(keysByContext, key.getContextPath(), key);
+            }
+        }
+    }
+
+    @Override
+    protected void cacheEntityRemoved(UserRolesKey key) {
+        synchronized (indexLock){
+            if(getCacheEntity(key) == null){
+                unindex(keysByUser, key.getUserId(), key);
+                unindex(keysByContext, key.getContextPath(), key);
+            }
+        }
+    }
+
+    private static <T> void index(Map<T, Set<UserRolesKey>> index, T value, UserRolesKey key) {
+        Set<UserRolesKey> keys = index.get(value);
+        if(keys == null){
+            keys = new HashSet<>();
+            index.put(value, keys);
+        }
+        keys.add(key);
+    }
+
+    private static <T> void unindex(Map<T, Set<UserRolesKey>> index, T value, UserRolesKey key) {
+        Set<UserRolesKey> keys = index.get(value);
+        if(keys != null && keys.remove(key) && keys.isEmpty()){
+            index.remove(value);
+        }
+    }
+
+    @Override
+    protected UserRoles loadSource(UserRolesKey key) throws ErrorCodeException {
+        try{
+            if(logger.isDebugEnabled()){
+                logger.debug("Loading user roles for {} ...", key);
+            }
+            UserRoles ret = contextConfigLoader.loadUserRoleDefinitions(key.getContextPath(), key.getUserId());
+            ret.setVersion(versions.incrementAndGet());
+            if(logger.isDebugEnabled()){
+                logger.debug("Loaded user roles for {}: {}", key, ret);
+            }
+            return ret;
+        } catch (ErrorCodeException ece) {
+            throw ece;
+        } catch (Throwable t){
+            logger.error("Failed to load user roles for {}", key, t);
+            throw new ErrorCodeException(FAILED_TO_LOAD_USER_ROLES, t, key);
+        }
+    }
+
+    @Override
+    protected void destroySource(UserRoles userRoles) {
+        // do nothing
+    }
+
+    @Override
+    protected UserRoles reloadSource(UserRolesKey key, UserRoles oldSource) throws ErrorCodeException {
+        try{
+            if(logger.isDebugEnabled()){
+                logger.debug("Reloading user roles for {} ...", key);
+            }
+            UserRoles ret = contextConfigLoader.loadUserRoleDefinitions(key.getContextPath(), key.getUserId());
+            ret.setVersion(ret.hasSameRoles(oldSource) ? oldSource.getVersion() : versions.incrementAndGet());
+            if(logger.isDebugEnabled()){
+                logger.debug("Reloaded user roles for {}: {}", key, ret);
+            }
+            return ret;
+        } catch (ErrorCodeException ece) {
+            throw ece;
+        } catch (Throwable t){
+            logger.error("Failed to reload user roles for {}", key, t);
+            throw new ErrorCodeException(FAILED_TO_LOAD_USER_ROLES, t, key);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.context;
+
+import com.tdoer.bedrock.context.ContextPath;
+import org.springframework.util.Assert;
+
+import java.util.Objects;
+
+/**
+ * Key of a user's roles in a context instance
+ *
+ * @create 2026-10-18
+ */
+public class UserRolesKey {
+    private final ContextPath contextPath;
+
+    private final Long userId;
+
+    private final int hash;
+
+    public UserRolesKey(ContextPath contextPath, Long userId) {
+        Assert.notNull(contextPath, "Context path cannot be null");
+        Assert.notNull(userId, "User Id cannot be null");
+
+        this.contextPath = contextPath;
+        this.userId = userId;
+        this.hash = 31 * contextPath.hashCode() + userId.hashCode();
+    }
+
+    public ContextPath getContextPath() {
+        return contextPath;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if(this == obj){
+            return true;
+        }
+        if(!(obj instanceof UserRolesKey)){
+            return false;
+        }
+        UserRolesKey that = (UserRolesKey) obj;
+        return hash == that.hash
+                && Objects.equals(userId, that.userId)
+                && Objects.equals(contextPath, that.contextPath);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + contextPath + ", user: " + userId + "]";
+    }
+}
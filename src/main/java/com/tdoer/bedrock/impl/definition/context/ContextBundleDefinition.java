@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.definition.context;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Context bundle definition holds all configurations of a context domain, i.e., context path, product Id,
+ * client Id and tenant Id, loaded in one provider call.
+ *
+ * @create 2026-10-18
+ */
+public class ContextBundleDefinition implements Serializable {
+
+    private List<ContextRoleDefinition> roles;
+
+    /**
+     * Authorities by role Ids, optional, they will be loaded separately if it's null
+     */
+    private Map<Long, List<ContextRoleAuthorityDefinition>> roleAuthorities;
+
+    private List<ContextApplicationDefinition> applications;
+
+    private List<PublicAuthorityDefinition> publicAuthorities;
+
+    public List<ContextRoleDefinition> getRoles() {
+        return roles;
+    }
+
+    public void setRoles(List<ContextRoleDefinition> roles) {
+        this.roles = roles;
+    }
+
+    public Map<Long, List<ContextRoleAuthorityDefinition>> getRoleAuthorities() {
+        return roleAuthorities;
+    }
+
+    public void setRoleAuthorities(Map<Long, List<ContextRoleAuthorityDefinition>> roleAuthorities) {
+        this.roleAuthorities = roleAuthorities;
+    }
+
+    public List<ContextApplicationDefinition> getApplications() {
+        return applications;
+    }
+
+    public void setApplications(List<ContextApplicationDefinition> applications) {
+        this.applications = applications;
+    }
+
+    public List<PublicAuthorityDefinition> getPublicAuthorities() {
+        return publicAuthorities;
+    }
+
+    public void setPublicAuthorities(List<PublicAuthorityDefinition> publicAuthorities) {
+        this.publicAuthorities = publicAuthorities;
+    }
+}
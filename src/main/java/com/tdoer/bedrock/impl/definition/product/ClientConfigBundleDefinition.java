@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.definition.product;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Client configuration bundle definition holds all client configurations of a product domain, i.e., product Id,
+ * client Id and tenant Id, loaded in one provider call.
+ *
+ * @create 2026-10-18
+ */
+public class ClientConfigBundleDefinition implements Serializable {
+
+    private List<ClientApplicationDefinition> applications;
+
+    private List<ClientServiceDefinition> services;
+
+    private List<ClientContextDefinition> contexts;
+
+    /**
+     * Token definition of the client and tenant, null if client Id is null or not defined
+     */
+    private ClientTokenDefinition token;
+
+    public List<ClientApplicationDefinition> getApplications() {
+        return applications;
+    }
+
+    public void setApplications(List<ClientApplicationDefinition> applications) {
+        this.applications = applications;
+    }
+
+    public List<ClientServiceDefinition> getServices() {
+        return services;
+    }
+
+    public void setServices(List<ClientServiceDefinition> services) {
+        this.services = services;
+    }
+
+    public List<ClientContextDefinition> getContexts() {
+        return contexts;
+    }
+
+    public void setContexts(List<ClientContextDefinition> contexts) {
+        this.contexts = contexts;
+    }
+
+    public ClientTokenDefinition getToken() {
+        return token;
+    }
+
+    public void setToken(ClientTokenDefinition token) {
+        this.token = token;
+    }
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.domain;
+
+import com.tdoer.bedrock.impl.cache.AbstractCacheManager;
+import com.tdoer.bedrock.impl.cache.CacheEntity;
+import com.tdoer.bedrock.impl.cache.CacheExecutor;
+import com.tdoer.bedrock.impl.cache.CacheListener;
+import com.tdoer.bedrock.impl.cache.CachePolicy;
+import com.tdoer.bedrock.impl.cache.DormantCacheCleaner;
+import com.tdoer.springboot.error.ErrorCodeException;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the merged view of a domain, that's, the sources of all domains in its lookup chain, cached by
+ * the level cache manager, merged into one source by {@link #mergeLevels(ExtensionDomain, List)}, from the
+ * most specific domain to the most general one. So a request looks up once instead of once per level.
+ * <p>
+ * The view listens to the level cache manager, and is invalidated once the source of any domain in its
+ * chain is changed. It's also reloaded once expired, which gets the levels expired reloaded.
+ * <p>
+ * With an {@link OverrideIndex}, levels known to have no definitions are skipped, and all views are
+ * invalidated once the index is rebuilt with changes.
+ * <p>
+ * Once more than one level of a chain is missed, the levels other than the first are loaded in parallel in
+ * the background, while the first is loaded by the caller, so a cold chain costs about one load instead of
+ * the sum of them.
+ *
+ * @create 2026-10-18
+ */
+public abstract class AbstractMergedCacheManager<D extends ExtensionDomain<D>, Level, Merged> extends AbstractCacheManager<D, Merged>
+        implements CacheListener<D> {
+
+    private final AbstractCacheManager<D, Level> levelCacheManager;
+
+    private final DomainInterner<D> interner;
+
+    /**
+     * Views depending on each level domain, a view is registered before its levels are read, and pruned once
+     * it's removed
+     */
+    private final ConcurrentHashMap<D, Set<D>> dependents = new ConcurrentHashMap<>();
+
+    /**
+     * Guards pruning of removed views against checking of put views
+     */
+    private final Object dependencyLock = new Object();
+
+    /**
+     * Number of level changes, to tell whether levels changed while merging
+     */
+    private final AtomicLong changes = new AtomicLong();
+
+    private volatile OverrideIndex<D> overrideIndex;
+
+    private volatile boolean parallelLoading = true;
+
+    /**
+     * Attempts to merge a view without levels changing meanwhile, the last attempt is taken anyway
+     */
+    private static final int MERGE_ATTEMPTS = 3;
+
+    public AbstractMergedCacheManager(CachePolicy cachePolicy, DormantCacheCleaner cleaner, AbstractCacheManager<D, Level> levelCacheManager,
+                                      DomainInterner<D> interner) {
+        super(cachePolicy, cleaner);
+        Assert.notNull(levelCacheManager, "Level cache manager cannot be null");
+        Assert.notNull(interner, "DomainInterner cannot be null");
+
+        this.levelCacheManager = levelCacheManager;
+        this.interner = interner;
+        levelCacheManager.addCacheListener(this);
+    }
+
+    /**
+     * Returns the name of the level cache manager with "View" suffix, e.g., "ContextRolesCacheManagerView"
+     *
+     * @return the name
+     */
+    @Override
+    public String getName() {
+        return levelCacheManager.getName() + "View";
+    }
+
+    public OverrideIndex<D> getOverrideIndex() {
+        return overrideIndex;
+    }
+
+    /**
+     * Set the override index, it's built in the background at once, levels are not skipped until it's built
+     */
+    public void setOverrideIndex(OverrideIndex<D> overrideIndex) {
+        this.overrideIndex = overrideIndex;
+        changes.incrementAndGet();
+        cleanAll();
+        if(overrideIndex != null){
+            buildAsync(overrideIndex);
+        }
+    }
+
+    public boolean isParallelLoading() {
+        return parallelLoading;
+    }
+
+    public void setParallelLoading(boolean parallelLoading) {
+        this.parallelLoading = parallelLoading;
+    }
+
+    @Override
+    public void sourceChanged(D level) {
+        changes.incrementAndGet();
+        Set<D> views = dependents.remove(level);
+        if(views != null){
+            for(D view : views){
+                removeCacheEntity(view);
+            }
+
+            if(logger.isDebugEnabled()){
+                logger.debug("{}: Invalidated {} views depending on {}", this, views.size(), level);
+            }
+        }
+    }
+
+    @Override
+    protected Merged loadSource(D domain) throws ErrorCodeException {
+        return merge(domain);
+    }
+
+    @Override
+    protected Merged reloadSource(D domain, Merged oldSource) throws ErrorCodeException {
+        return merge(domain);
+    }
+
+    /**
+     * Put the view, and remove it at once if any of its levels changed since it was registered, since it
+     * would not be invalidated then
+     */
+    @Override
+    protected void putCacheEntity(D domain, CacheEntity<Merged> entity) {
+        super.putCacheEntity(domain, entity);
+        synchronized (dependencyLock){
+            if(isDepending(domain)){
+                return;
+            }
+        }
+        if(removeCacheEntity(domain, entity) && logger.isDebugEnabled()){
+            logger.debug("{}: Removed the view {}, its levels changed while merging", this, domain);
+        }
+    }
+
+    /**
+     * Prune the removed view from the dependents of its levels, unless it's cached again meanwhile
+     */
+    @Override
+    protected void cacheEntityRemoved(D domain) {
+        synchronized (dependencyLock){
+            if(getCacheEntity(domain) != null){
+                return;
+            }
+            for(D level : interner.getLookupChain(domain)){
+                Set<D> views = dependents.get(level);
+                if(views != null && views.remove(domain) && views.isEmpty()){
+                    dependents.remove(level, views);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void destroySource(Merged merged) {
+        // do nothing, the level cache manager owns the sources
+    }
+
+    /**
+     * Merge sources of the levels into one
+     *
+     * @param domain Domain to merge
+     * @param levels Sources of the levels not <code>null</code>, from the most specific level to the most general one
+     * @return the merged source
+     */
+    protected abstract Merged mergeLevels(D domain, List<Level> levels);
+
+    private Merged merge(D domain) throws ErrorCodeException {
+        List<D> chain = interner.getLookupChain(domain);
+        ArrayList<Level> levels = new ArrayList<>(chain.size());
+        int skipped;
+        for(int attempt = 1; ; attempt++){
+            long version = changes.get();
+            OverrideIndex<D> index = checkOverrideIndex();
+            if(parallelLoading && attempt == 1){
+                loadMissesAsync(chain, index);
+            }
+            // depend before reading, so a level changed after read invalidates the view
+            depend(domain, chain);
+            skipped = 0;
+            for(D level : chain){
+                if(index != null && !index.mightHaveDefinitions(level)){
+                    skipped++;
+                    continue;
+                }
+                Level source = levelCacheManager.getSource(level);
+                if(source != null){
+                    levels.add(source);
+                }
+            }
+
+            // levels loaded or changed while merging, e.g., loaded by this merge, may have dropped the dependency
+            if(changes.get() == version || attempt == MERGE_ATTEMPTS){
+                break;
+            }
+            levels.clear();
+        }
+
+        if(logger.isDebugEnabled()){
+            logger.debug("{}: Merging {} of {} levels ({} skipped) for the domain {}", this, levels.size(),
+                    chain.size(), skipped, domain);
+        }
+        return mergeLevels(domain, levels);
+    }
+
+    /**
+     * Load the levels missed, except the first one, in the background. The caller then either finds them
+     * loaded, or waits for their loadings, or loads them itself if they're not started yet.
+     */
+    private void loadMissesAsync(List<D> chain, OverrideIndex<D> index){
+        ArrayList<D> misses = null;
+        for(D level : chain){
+            if((index == null || index.mightHaveDefinitions(level)) && !levelCacheManager.isCached(level)){
+                if(misses == null){
+                    misses = new ArrayList<>(chain.size());
+                }
+                misses.add(level);
+            }
+        }
+        if(misses == null || misses.size() < 2){
+            return;
+        }
+
+        if(logger.isDebugEnabled()){
+            logger.debug("{}: Loading {} levels missed in parallel: {}", this, misses.size(), misses);
+        }
+        CacheExecutor executor = cleaner.getCacheExecutor();
+        for(int i = 1; i < misses.size(); i++){
+            final D level = misses.get(i);
+            try{
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try{
+                            levelCacheManager.getSource(level);
+                        }catch(Throwable t){
+                            // the caller gets the error of the level when merging
+                            if(logger.isDebugEnabled()){
+                                logger.debug("{}: Failed to load the level {} in background", AbstractMergedCacheManager.this, level, t);
+                            }
+                        }
+                    }
+                });
+            }catch(RejectedExecutionException ex){
+                // the executor is saturated, the caller loads the rest
+                break;
+            }
+        }
+    }
+
+    /**
+     * Returns the override index, or null if it's not built yet. It's rebuilt in the background once older than
+     * the cache duration, or if building it was rejected.
+     */
+    private OverrideIndex<D> checkOverrideIndex(){
+        OverrideIndex<D> index = overrideIndex;
+        if(index != null){
+            if(!index.isBuilt()){
+                buildAsync(index);
+                return null;
+            }
+            if(index.isStale(cachePolicy.getCacheDuration())){
+                buildAsync(index);
+            }
+        }
+        return index;
+    }
+
+    private void buildAsync(OverrideIndex<D> index){
+        index.buildAsync(cleaner.getCacheExecutor(), new Runnable() {
+            @Override
+            public void run() {
+                changes.incrementAndGet();
+                cleanAll();
+            }
+        });
+    }
+
+    private boolean isDepending(D domain){
+        for(D level : interner.getLookupChain(domain)){
+            Set<D> views = dependents.get(level);
+            if(views == null || !views.contains(domain)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void depend(D domain, List<D> chain){
+        for(D level : chain){
+            Set<D> views = dependents.get(level);
+            if(views == null){
+                Set<D> created = Collections.newSetFromMap(new ConcurrentHashMap<D, Boolean>());
+                views = dependents.putIfAbsent(level, created);
+                if(views == null){
+                    views = created;
+                }
+            }
+            views.add(domain);
+        }
+    }
+}
@@ -18,6 +18,8 @@ package com.tdoer.bedrock.impl.domain;
 import com.tdoer.bedrock.context.ContextPath;
 import org.springframework.util.Assert;
 
+import java.util.Objects;
+
 /**
  * ApplicationDomain is used to search application resources (pages or actions)
  *
@@ -26,11 +28,12 @@ import org.springframework.util.Assert;
  */
 public class ApplicationDomain extends ExtensionDomain<ApplicationDomain>{
 
-    protected String applicationId;
-	protected String productId;
-	protected String clientId;
-	protected Long tenantId;
-	protected ContextPath contextPath;
+    protected final String applicationId;
+	protected final String productId;
+	protected final String clientId;
+	protected final Long tenantId;
+	protected final ContextPath contextPath;
+	private final int hash;
 
 	public ApplicationDomain(String applicationId, String productId, String clientId, Long tenantId, ContextPath contextPath) {
         Assert.notNull(applicationId, "Application ID cannot be null");
@@ -40,6 +43,7 @@ public class ApplicationDomain extends ExtensionDomain<ApplicationDomain>{
 		this.clientId = clientId;
 		this.tenantId = tenantId;
 		this.contextPath = contextPath;
+		this.hash = computeHash();
 	}
 
     @Override
@@ -93,7 +97,7 @@ public class ApplicationDomain extends ExtensionDomain<ApplicationDomain>{
             if (!cp.equals(contextPath)){
                 return new ApplicationDomain(applicationId, productId, clientId, tenantId, cp);
             } else{
-                if(tenantId != 0){
+                if(tenantId != null && tenantId != 0){
                     return new ApplicationDomain(applicationId, productId, clientId,0L, cp);
                 } else {
                     return new ApplicationDomain(applicationId, productId, clientId,0L, null);
@@ -111,24 +115,36 @@ public class ApplicationDomain extends ExtensionDomain<ApplicationDomain>{
   	}
 
 
-	@Override
-  	public int hashCode() {
-	  	return toString().hashCode();
-  	}
+    @Override
+    public int hashCode() {
+        return hash;
+    }
 
-	@Override
-  	public boolean equals(Object obj) {
-		if(obj == null){
-			return false;
-		}
-		if(this == obj){
-			return true;
-		}
-	  	if(obj instanceof ApplicationDomain){
-	  		return toString().equals(obj.toString());
-	  	}
-	  	return false;
-  	}
+    @Override
+    public boolean equals(Object obj) {
+        if(this == obj){
+            return true;
+        }
+        if(!(obj instanceof ApplicationDomain)){
+            return false;
+        }
+        ApplicationDomain that = (ApplicationDomain) obj;
+        return hash == that.hash
+                && Objects.equals(applicationId, that.applicationId)
+                && Objects.equals(productId, that.productId)
+                && Objects.equals(clientId, that.clientId)
+                && Objects.equals(tenantId, that.tenantId)
+                && Objects.equals(contextPath, that.contextPath);
+    }
+
+    private int computeHash() {
+        int ret = applicationId == null ? 0 : applicationId.hashCode();
+        ret = 31 * ret + (productId == null ? 0 : productId.hashCode());
+        ret = 31 * ret + (clientId == null ? 0 : clientId.hashCode());
+        ret = 31 * ret + (tenantId == null ? 0 : tenantId.hashCode());
+        ret = 31 * ret + (contextPath == null ? 0 : contextPath.hashCode());
+        return ret;
+    }
 
     @Override
     public String toString() {
@@ -138,7 +154,7 @@ public class ApplicationDomain extends ExtensionDomain<ApplicationDomain>{
         sb.append(productId);
         sb.append(", ").append(clientId);
         sb.append(", ").append(tenantId);
-        sb.append(", ").append(contextPath.getAbsoluteValue());
+        sb.append(", ").append(contextPath == null ? null : contextPath.getAbsoluteValue());
         sb.append("]");
         return sb.toString();
     }
@@ -17,19 +17,23 @@ package com.tdoer.bedrock.impl.domain;
 
 import org.springframework.util.Assert;
 
+import java.util.Objects;
+
 /**
  * @author Htinker Hu (htinker@163.com)
  * @create 2017-09-19
  */
 public class ClientDomain extends ExtensionDomain<ClientDomain> {
 
-    protected String clientId;
-    protected Long tenantId;
+    protected final String clientId;
+    protected final Long tenantId;
+    private final int hash;
 
     public ClientDomain(String clientId, Long tenantId) {
         Assert.notNull(clientId, "Client ID cannot be null");
         this.clientId = clientId;
         this.tenantId = tenantId;
+        this.hash = computeHash();
     }
 
     public String getClientId() {
@@ -66,21 +70,27 @@ public class ClientDomain extends ExtensionDomain<ClientDomain> {
     }
     @Override
     public int hashCode() {
-        return toString().hashCode();
+        return hash;
     }
 
     @Override
     public boolean equals(Object obj) {
-        if(obj == null){
-            return false;
-        }
         if(this == obj){
             return true;
         }
-        if(obj instanceof ApplicationDomain){
-            return toString().equals(obj.toString());
+        if(!(obj instanceof ClientDomain)){
+            return false;
         }
-        return false;
+        ClientDomain that = (ClientDomain) obj;
+        return hash == that.hash
+                && Objects.equals(clientId, that.clientId)
+                && Objects.equals(tenantId, that.tenantId);
+    }
+
+    private int computeHash() {
+        int ret = clientId == null ? 0 : clientId.hashCode();
+        ret = 31 * ret + (tenantId == null ? 0 : tenantId.hashCode());
+        return ret;
     }
 
     @Override
@@ -18,6 +18,8 @@ package com.tdoer.bedrock.impl.domain;
 import com.tdoer.bedrock.context.ContextPath;
 import org.springframework.util.Assert;
 
+import java.util.Objects;
+
 /**
  * ContextDomain is used to search context's configurations, such like
  * context roles, application installations, and public authorities.
@@ -27,10 +29,11 @@ import org.springframework.util.Assert;
  */
 public class ContextDomain extends ExtensionDomain<ContextDomain> {
 
-	protected ContextPath contextPath;
-	protected String productId;
-	protected String clientId;
-	protected Long tenantId;
+	protected final ContextPath contextPath;
+	protected final String productId;
+	protected final String clientId;
+	protected final Long tenantId;
+	private final int hash;
 
 	public ContextDomain(ContextPath contextPath, String productId, String clientId, Long tenantId) {
         Assert.notNull(contextPath, "ContextPath cannot be null");
@@ -39,6 +42,7 @@ public class ContextDomain extends ExtensionDomain<ContextDomain> {
 		this.productId = productId;
 		this.clientId = clientId;
 		this.tenantId = tenantId;
+		this.hash = computeHash();
 	}
 
     @Override
@@ -82,7 +86,7 @@ public class ContextDomain extends ExtensionDomain<ContextDomain> {
 	 */
 	@Override
 	public ContextDomain nextLookup() {
-		if(tenantId != null && !tenantId.equals(0)){
+		if(tenantId != null && !tenantId.equals(0L)){
 			ContextPath cp = contextPath.parentTemplate();
 			if (!cp.equals(contextPath)){
 				return new ContextDomain(cp, productId, clientId, tenantId);
@@ -101,24 +105,34 @@ public class ContextDomain extends ExtensionDomain<ContextDomain> {
   	}
 
 
-	@Override
-  	public int hashCode() {
-	  	return toString().hashCode();
-  	}
+    @Override
+    public int hashCode() {
+        return hash;
+    }
 
-	@Override
-  	public boolean equals(Object obj) {
-		if(obj == null){
-			return false;
-		}
-		if(this == obj){
-			return true;
-		}
-	  	if(obj instanceof ContextDomain){
-	  		return toString().equals(obj.toString());
-	  	}
-	  	return false;
-  	}
+    @Override
+    public boolean equals(Object obj) {
+        if(this == obj){
+            return true;
+        }
+        if(!(obj instanceof ContextDomain)){
+            return false;
+        }
+        ContextDomain that = (ContextDomain) obj;
+        return hash == that.hash
+                && Objects.equals(contextPath, that.contextPath)
+                && Objects.equals(productId, that.productId)
+                && Objects.equals(clientId, that.clientId)
+                && Objects.equals(tenantId, that.tenantId);
+    }
+
+    private int computeHash() {
+        int ret = contextPath == null ? 0 : contextPath.hashCode();
+        ret = 31 * ret + (productId == null ? 0 : productId.hashCode());
+        ret = 31 * ret + (clientId == null ? 0 : clientId.hashCode());
+        ret = 31 * ret + (tenantId == null ? 0 : tenantId.hashCode());
+        return ret;
+    }
 
     @Override
     public String toString() {
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.domain;
+
+import java.util.Arrays;
+
+/**
+ * A Bloom filter of domains, keyed by the precomputed hash code of domains, with about 1% false positive
+ * probability. It never tells an added domain absent, so only domains known to be absent can be skipped.
+ *
+ * @create 2026-10-18
+ */
+class DomainBloomFilter {
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    private static final int MAX_HASHES = 16;
+
+    private final long[] bits;
+
+    private final long numBits;
+
+    private final int numHashes;
+
+    DomainBloomFilter(int expectedSize) {
+        int n = Math.max(1, expectedSize);
+        long m = (long) Math.ceil(-n * Math.log(FALSE_POSITIVE_PROBABILITY) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (m + 63) >>> 6);
+        this.bits = new long[words];
+        this.numBits = (long) words << 6;
+        this.numHashes = (int) Math.max(1, Math.min(MAX_HASHES, Math.round((double) numBits / n * Math.log(2))));
+    }
+
+    void put(ExtensionDomain<?> domain) {
+        long h = mix(domain.hashCode());
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for(int i = 0; i < numHashes; i++){
+            long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % numBits;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(ExtensionDomain<?> domain) {
+        long h = mix(domain.hashCode());
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for(int i = 0; i < numHashes; i++){
+            long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % numBits;
+            if((bits[(int) (bit >>> 6)] & (1L << bit)) == 0){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long getNumBits() {
+        return numBits;
+    }
+
+    /**
+     * Spreads the 32-bit hash code into 64 bits, the halves of which are taken as two hashes
+     */
+    private static long mix(int hashCode) {
+        long h = hashCode;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if(this == obj){
+            return true;
+        }
+        if(!(obj instanceof DomainBloomFilter)){
+            return false;
+        }
+        DomainBloomFilter that = (DomainBloomFilter) obj;
+        return numHashes == that.numHashes && Arrays.equals(bits, that.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * numHashes + Arrays.hashCode(bits);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.domain;
+
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns extension domains with their lookup chains, that's, the domain itself followed by the domains
+ * returned by {@link ExtensionDomain#nextLookup()} one after another. A chain is built once, as a copy of
+ * the interned chain of its next domain led by the domain itself, so chains share the interned domain
+ * instances, not their lists, and walking a chain allocates nothing.
+ * <p>
+ * Once it holds the maximum number of chains, the interner is emptied and filled up again.
+ *
+ * @create 2026-10-18
+ */
+public class DomainInterner<T extends ExtensionDomain<T>> {
+
+    /**
+     * Longest lookup chain allowed, a longer one means <code>nextLookup()</code> never ends
+     */
+    public static final int MAX_LOOKUP_DEPTH = 64;
+
+    /**
+     * Default maximum number of chains to hold
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+    private final ConcurrentHashMap<T, List<T>> chains = new ConcurrentHashMap<>();
+
+    private final int maximumSize;
+
+    public DomainInterner() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public DomainInterner(int maximumSize) {
+        Assert.isTrue(maximumSize > 0, "Maximum size must be greater than zero");
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the lookup chain of the domain, the first element is the interned instance equal to the domain.
+     *
+     * @param domain Domain to look up, cannot be <code>null</code>
+     * @return unmodifiable lookup chain
+     */
+    public List<T> getLookupChain(T domain) {
+        Assert.notNull(domain, "Domain cannot be null");
+
+        List<T> chain = chains.get(domain);
+        if(chain == null){
+            chain = buildLookupChain(domain, 0);
+        }
+        return chain;
+    }
+
+    /**
+     * Returns the interned instance equal to the domain
+     *
+     * @param domain Domain, cannot be <code>null</code>
+     * @return interned domain
+     */
+    public T intern(T domain) {
+        return getLookupChain(domain).get(0);
+    }
+
+    public int size() {
+        return chains.size();
+    }
+
+    public void clear() {
+        chains.clear();
+    }
+
+    private List<T> buildLookupChain(T domain, int depth) {
+        if(depth >= MAX_LOOKUP_DEPTH){
+            throw new IllegalStateException("Lookup chain of " + getClass().getSimpleName() + " is longer than "
+                    + MAX_LOOKUP_DEPTH + ", nextLookup() doesn't end at: " + domain);
+        }
+
+        T next = domain.nextLookup();
+        List<T> rest = Collections.emptyList();
+        if(next != null){
+            rest = chains.get(next);
+            if(rest == null){
+                rest = buildLookupChain(next, depth + 1);
+            }
+        }
+
+        ArrayList<T> list = new ArrayList<>(rest.size() + 1);
+        list.add(domain);
+        list.addAll(rest);
+        List<T> chain = Collections.unmodifiableList(list);
+
+        if(chains.size() >= maximumSize){
+            chains.clear();
+        }
+        List<T> existing = chains.putIfAbsent(domain, chain);
+        return existing != null ? existing : chain;
+    }
+}
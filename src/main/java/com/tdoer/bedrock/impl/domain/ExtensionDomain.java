@@ -16,6 +16,10 @@
 package com.tdoer.bedrock.impl.domain;
 
 /**
+ * Extension domain is the key to look up extensions (resources configured for specific product, client,
+ * tenant, or context), from the most specific domain to the most general one, see {@link #nextLookup()}.
+ * Domains are immutable, and can be interned with their lookup chains by {@link DomainInterner}.
+ *
  * @author Htinker Hu (htinker@163.com)
  * @create 2017-09-19
  */
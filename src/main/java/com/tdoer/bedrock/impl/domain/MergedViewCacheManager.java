@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.domain;
+
+import com.tdoer.bedrock.impl.cache.AbstractCacheManager;
+import com.tdoer.bedrock.impl.cache.CachePolicy;
+import com.tdoer.bedrock.impl.cache.DormantCacheCleaner;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Array;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Caches the merged view of a domain, sources of the levels in its lookup chain, which are arrays of items,
+ * merged into one array without duplicates, see {@link AbstractMergedCacheManager}.
+ *
+ * @create 2026-10-18
+ */
+public class MergedViewCacheManager<D extends ExtensionDomain<D>, Item> extends AbstractMergedCacheManager<D, Item[], Item[]> {
+
+    private final Class<Item> itemType;
+
+    public MergedViewCacheManager(CachePolicy cachePolicy, DormantCacheCleaner cleaner, AbstractCacheManager<D, Item[]> levelCacheManager,
+                                  DomainInterner<D> interner, Class<Item> itemType) {
+        super(cachePolicy, cleaner, levelCacheManager, interner);
+        Assert.notNull(itemType, "Item type cannot be null");
+
+        this.itemType = itemType;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Item[] mergeLevels(D domain, List<Item[]> levels) {
+        LinkedHashSet<Item> merged = new LinkedHashSet<>();
+        for(Item[] items : levels){
+            Collections.addAll(merged, items);
+        }
+        return merged.toArray((Item[]) Array.newInstance(itemType, merged.size()));
+    }
+}
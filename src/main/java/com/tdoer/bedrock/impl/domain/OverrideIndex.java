@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.domain;
+
+import com.tdoer.bedrock.impl.cache.CacheClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Override index tells which domains have definitions, built from the domains reported in bulk by providers
+ * and held in a Bloom filter, so that the levels of a lookup chain known to have no definitions are skipped,
+ * without cache entries or provider calls. Most domains, e.g., of tenants and contexts without overrides,
+ * have no definitions.
+ * <p>
+ * The index is optional, if the provider doesn't report domains, or fails to, no domain is skipped. It's
+ * rebuilt once stale, and a domain having definitions added since last build may be skipped until then.
+ *
+ * @create 2026-10-18
+ */
+public abstract class OverrideIndex<D extends ExtensionDomain<D>> {
+    private static final Logger logger = LoggerFactory.getLogger(OverrideIndex.class);
+
+    private final String name;
+
+    private volatile DomainBloomFilter filter;
+
+    private volatile long builtAt;
+
+    private final AtomicBoolean building = new AtomicBoolean();
+
+    /**
+     * @param name Index name, e.g., "PageDomains"
+     */
+    public OverrideIndex(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Whether the domain might have definitions, false only if it's known to have none
+     *
+     * @param domain Domain, cannot be null
+     * @return true if the domain might have definitions or the index is not available
+     */
+    public boolean mightHaveDefinitions(D domain) {
+        DomainBloomFilter f = filter;
+        return f == null || f.mightContain(domain);
+    }
+
+    public boolean isBuilt() {
+        return builtAt != 0;
+    }
+
+    public boolean isStale(long maxAge) {
+        long at = builtAt;
+        return at == 0 || CacheClock.currentTimeMillis() - at >= maxAge;
+    }
+
+    /**
+     * Build the index, unless being built by another thread
+     *
+     * @return true if the index is changed
+     */
+    public boolean build() {
+        if(!building.compareAndSet(false, true)){
+            return false;
+        }
+        return doBuild();
+    }
+
+    /**
+     * Build the index with the executor, unless being built by another thread
+     *
+     * @param executor Executor to build the index
+     * @param onChange Callback once the index is changed
+     */
+    public void buildAsync(Executor executor, final Runnable onChange) {
+        if(!building.compareAndSet(false, true)){
+            return;
+        }
+        try{
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if(doBuild()){
+                        onChange.run();
+                    }
+                }
+            });
+        }catch (RejectedExecutionException ex){
+            building.set(false);
+            if(logger.isDebugEnabled()){
+                logger.debug("{}: Building the override index is rejected, will retry later", this);
+            }
+        }
+    }
+
+    private boolean doBuild() {
+        try{
+            Collection<D> domains = loadDomains();
+            DomainBloomFilter f = null;
+            if(domains != null){
+                f = new DomainBloomFilter(domains.size());
+                for(D domain : domains){
+                    f.put(domain);
+                }
+            }
+
+            DomainBloomFilter old = filter;
+            filter = f;
+            if(logger.isDebugEnabled()){
+                logger.debug("{}: Built the override index of {} domains in {} bits", this,
+                        domains == null ? null : domains.size(), f == null ? 0 : f.getNumBits());
+            }
+            return old == null ? f != null : !old.equals(f);
+        }catch (Throwable t){
+            // keep the last index, and retry once stale
+            logger.warn("{}: Failed to build the override index", this, t);
+            return false;
+        }finally {
+            builtAt = CacheClock.currentTimeMillis();
+            building.set(false);
+        }
+    }
+
+    /**
+     * Load all domains having definitions
+     *
+     * @return domains, or null if not supported
+     */
+    protected abstract Collection<D> loadDomains();
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
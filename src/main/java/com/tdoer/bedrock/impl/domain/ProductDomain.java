@@ -17,21 +17,25 @@ package com.tdoer.bedrock.impl.domain;
 
 import org.springframework.util.Assert;
 
+import java.util.Objects;
+
 /**
  * @author Htinker Hu (htinker@163.com)
  * @create 2017-09-19
  */
 public class ProductDomain extends ExtensionDomain<ProductDomain> {
 
-    protected String productId;
-    protected String clientId;
-    protected Long tenantId;
+    protected final String productId;
+    protected final String clientId;
+    protected final Long tenantId;
+    private final int hash;
 
     public ProductDomain(String productId, String clientId, Long tenantId) {
         Assert.notNull(productId, "Product ID cannot be null");
         this.productId = productId;
         this.clientId = clientId;
         this.tenantId = tenantId;
+        this.hash = computeHash();
     }
 
     public String getProductId() {
@@ -75,21 +79,29 @@ public class ProductDomain extends ExtensionDomain<ProductDomain> {
     }
     @Override
     public int hashCode() {
-        return toString().hashCode();
+        return hash;
     }
 
     @Override
     public boolean equals(Object obj) {
-        if(obj == null){
-            return false;
-        }
         if(this == obj){
             return true;
         }
-        if(obj instanceof ApplicationDomain){
-            return toString().equals(obj.toString());
+        if(!(obj instanceof ProductDomain)){
+            return false;
         }
-        return false;
+        ProductDomain that = (ProductDomain) obj;
+        return hash == that.hash
+                && Objects.equals(productId, that.productId)
+                && Objects.equals(clientId, that.clientId)
+                && Objects.equals(tenantId, that.tenantId);
+    }
+
+    private int computeHash() {
+        int ret = productId == null ? 0 : productId.hashCode();
+        ret = 31 * ret + (clientId == null ? 0 : clientId.hashCode());
+        ret = 31 * ret + (tenantId == null ? 0 : tenantId.hashCode());
+        return ret;
     }
 
     @Override
@@ -18,6 +18,8 @@ package com.tdoer.bedrock.impl.domain;
 import com.tdoer.bedrock.context.ContextPath;
 import org.springframework.util.Assert;
 
+import java.util.Objects;
+
 /**
  * ServiceDomain is used to search service methods
  *
@@ -26,11 +28,12 @@ import org.springframework.util.Assert;
  */
 public class ServiceDomain extends ExtensionDomain<ServiceDomain>{
 
-    protected String serviceId;
-	protected String productId;
-	protected String clientId;
-	protected Long tenantId;
-	protected ContextPath contextPath;
+    protected final String serviceId;
+	protected final String productId;
+	protected final String clientId;
+	protected final Long tenantId;
+	protected final ContextPath contextPath;
+	private final int hash;
 
 	public ServiceDomain(String serviceId, String productId, String clientId, Long tenantId, ContextPath contextPath) {
         Assert.notNull(serviceId, "Application ID cannot be null");
@@ -40,6 +43,7 @@ public class ServiceDomain extends ExtensionDomain<ServiceDomain>{
 		this.clientId = clientId;
 		this.tenantId = tenantId;
 		this.contextPath = contextPath;
+		this.hash = computeHash();
 	}
 
     @Override
@@ -94,7 +98,7 @@ public class ServiceDomain extends ExtensionDomain<ServiceDomain>{
             if (!cp.equals(contextPath)){
                 return new ServiceDomain(serviceId, productId, clientId, tenantId, cp);
             } else{
-                if(tenantId != 0){
+                if(tenantId != null && tenantId != 0){
                     return new ServiceDomain(serviceId, productId, clientId,0L, cp);
                 } else {
                     return new ServiceDomain(serviceId, productId, clientId,0L, null);
@@ -112,24 +116,36 @@ public class ServiceDomain extends ExtensionDomain<ServiceDomain>{
   	}
 
 
-	@Override
-  	public int hashCode() {
-	  	return toString().hashCode();
-  	}
+    @Override
+    public int hashCode() {
+        return hash;
+    }
 
-	@Override
-  	public boolean equals(Object obj) {
-		if(obj == null){
-			return false;
-		}
-		if(this == obj){
-			return true;
-		}
-	  	if(obj instanceof ServiceDomain){
-	  		return toString().equals(obj.toString());
-	  	}
-	  	return false;
-  	}
+    @Override
+    public boolean equals(Object obj) {
+        if(this == obj){
+            return true;
+        }
+        if(!(obj instanceof ServiceDomain)){
+            return false;
+        }
+        ServiceDomain that = (ServiceDomain) obj;
+        return hash == that.hash
+                && Objects.equals(serviceId, that.serviceId)
+                && Objects.equals(productId, that.productId)
+                && Objects.equals(clientId, that.clientId)
+                && Objects.equals(tenantId, that.tenantId)
+                && Objects.equals(contextPath, that.contextPath);
+    }
+
+    private int computeHash() {
+        int ret = serviceId == null ? 0 : serviceId.hashCode();
+        ret = 31 * ret + (productId == null ? 0 : productId.hashCode());
+        ret = 31 * ret + (clientId == null ? 0 : clientId.hashCode());
+        ret = 31 * ret + (tenantId == null ? 0 : tenantId.hashCode());
+        ret = 31 * ret + (contextPath == null ? 0 : contextPath.hashCode());
+        return ret;
+    }
 
     @Override
     public String toString() {
@@ -139,7 +155,7 @@ public class ServiceDomain extends ExtensionDomain<ServiceDomain>{
         sb.append(productId);
         sb.append(", ").append(clientId);
         sb.append(", ").append(tenantId);
-        sb.append(", ").append(contextPath.getAbsoluteValue());
+        sb.append(", ").append(contextPath == null ? null : contextPath.getAbsoluteValue());
         sb.append("]");
         return sb.toString();
     }
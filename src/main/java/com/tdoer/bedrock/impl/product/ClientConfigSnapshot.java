@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.product;
+
+import com.tdoer.bedrock.context.ContextPath;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Client configuration snapshot holds application installations, client services, context installations and
+ * token configuration of a product domain, indexed by application Id, service Id and context path, so that
+ * they're looked up by hash instead of scanning.
+ *
+ * @create 2026-10-18
+ */
+public class ClientConfigSnapshot {
+    private final Map<String, DefaultClientApplicationInstallation> applicationInstallations;
+
+    private final Map<String, DefaultClientService> clientServices;
+
+    private final Map<ContextPath, DefaultContextInstallation> contextInstallations;
+
+    private final DefaultTokenConfig tokenConfig;
+
+    public ClientConfigSnapshot(DefaultClientApplicationInstallation[] applicationInstallations, DefaultClientService[] clientServices,
+                                DefaultContextInstallation[] contextInstallations, DefaultTokenConfig tokenConfig) {
+        LinkedHashMap<String, DefaultClientApplicationInstallation> applicationMap = new LinkedHashMap<>();
+        if(applicationInstallations != null){
+            for(DefaultClientApplicationInstallation installation : applicationInstallations){
+                applicationMap.putIfAbsent(installation.getApplicationId(), installation);
+            }
+        }
+        LinkedHashMap<String, DefaultClientService> serviceMap = new LinkedHashMap<>();
+        if(clientServices != null){
+            for(DefaultClientService service : clientServices){
+                serviceMap.putIfAbsent(service.getServiceId(), service);
+            }
+        }
+        LinkedHashMap<ContextPath, DefaultContextInstallation> contextMap = new LinkedHashMap<>();
+        if(contextInstallations != null){
+            for(DefaultContextInstallation installation : contextInstallations){
+                contextMap.putIfAbsent(installation.getContextPath(), installation);
+            }
+        }
+
+        this.applicationInstallations = Collections.unmodifiableMap(applicationMap);
+        this.clientServices = Collections.unmodifiableMap(serviceMap);
+        this.contextInstallations = Collections.unmodifiableMap(contextMap);
+        this.tokenConfig = tokenConfig;
+    }
+
+    private ClientConfigSnapshot(Map<String, DefaultClientApplicationInstallation> applicationInstallations, Map<String, DefaultClientService> clientServices,
+                                 Map<ContextPath, DefaultContextInstallation> contextInstallations, DefaultTokenConfig tokenConfig) {
+        this.applicationInstallations = Collections.unmodifiableMap(applicationInstallations);
+        this.clientServices = Collections.unmodifiableMap(clientServices);
+        this.contextInstallations = Collections.unmodifiableMap(contextInstallations);
+        this.tokenConfig = tokenConfig;
+    }
+
+    /**
+     * Merge snapshots of the levels in a lookup chain, the configuration of a more specific level overrides
+     * the one of the same key in a more general level.
+     *
+     * @param levels Snapshots, from the most specific level to the most general one
+     * @return the merged snapshot
+     */
+    public static ClientConfigSnapshot merge(List<ClientConfigSnapshot> levels) {
+        if(levels.size() == 1){
+            return levels.get(0);
+        }
+
+        LinkedHashMap<String, DefaultClientApplicationInstallation> applicationMap = new LinkedHashMap<>();
+        LinkedHashMap<String, DefaultClientService> serviceMap = new LinkedHashMap<>();
+        LinkedHashMap<ContextPath, DefaultContextInstallation> contextMap = new LinkedHashMap<>();
+        DefaultTokenConfig token = null;
+        for(ClientConfigSnapshot level : levels){
+            for(Map.Entry<String, DefaultClientApplicationInstallation> entry : level.applicationInstallations.entrySet()){
+                applicationMap.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+            for(Map.Entry<String, DefaultClientService> entry : level.clientServices.entrySet()){
+                serviceMap.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+            for(Map.Entry<ContextPath, DefaultContextInstallation> entry : level.contextInstallations.entrySet()){
+                contextMap.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+            if(token == null){
+                token = level.tokenConfig;
+            }
+        }
+        return new ClientConfigSnapshot(applicationMap, serviceMap, contextMap, token);
+    }
+
+    public Map<String, DefaultClientApplicationInstallation> getApplicationInstallations() {
+        return applicationInstallations;
+    }
+
+    public DefaultClientApplicationInstallation getApplicationInstallation(String applicationId) {
+        return applicationInstallations.get(applicationId);
+    }
+
+    public Map<String, DefaultClientService> getClientServices() {
+        return clientServices;
+    }
+
+    public DefaultClientService getClientService(String serviceId) {
+        return clientServices.get(serviceId);
+    }
+
+    public Map<ContextPath, DefaultContextInstallation> getContextInstallations() {
+        return contextInstallations;
+    }
+
+    /**
+     * Get context installation of the context path, or of its parent templates if not installed
+     *
+     * @param contextPath Context path
+     * @return the installation, or null if not installed
+     */
+    public DefaultContextInstallation getContextInstallation(ContextPath contextPath) {
+        do{
+            DefaultContextInstallation installation = contextInstallations.get(contextPath);
+            if(installation != null){
+                return installation;
+            }
+            ContextPath next = contextPath.parentTemplate();
+            if(next.equals(contextPath)){
+                // reach the end
+                return null;
+            }
+            contextPath = next;
+        }while(true);
+    }
+
+    public DefaultTokenConfig getTokenConfig() {
+        return tokenConfig;
+    }
+
+    @Override
+    public String toString() {
+        return "ClientConfigSnapshot[applicationInstallations=" + applicationInstallations.size() + ", clientServices="
+                + clientServices.size() + ", contextInstallations=" + contextInstallations.size() + ", tokenConfig="
+                + (tokenConfig != null) + "]";
+    }
+}
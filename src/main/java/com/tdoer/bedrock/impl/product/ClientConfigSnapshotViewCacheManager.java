@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.product;
+
+import com.tdoer.bedrock.impl.cache.CachePolicy;
+import com.tdoer.bedrock.impl.cache.DormantCacheCleaner;
+import com.tdoer.bedrock.impl.domain.AbstractMergedCacheManager;
+import com.tdoer.bedrock.impl.domain.DomainInterner;
+import com.tdoer.bedrock.impl.domain.ProductDomain;
+
+import java.util.List;
+
+/**
+ * Caches client configuration snapshots of product domains merged over their lookup chains.
+ *
+ * @create 2026-10-18
+ */
+public class ClientConfigSnapshotViewCacheManager extends AbstractMergedCacheManager<ProductDomain, ClientConfigSnapshot, ClientConfigSnapshot> {
+
+    private static final ClientConfigSnapshot EMPTY_SNAPSHOT = new ClientConfigSnapshot(null, null, null, null);
+
+    public ClientConfigSnapshotViewCacheManager(CachePolicy cachePolicy, DormantCacheCleaner cleaner, ClientConfigSnapshotCacheManager levelCacheManager,
+                                                DomainInterner<ProductDomain> interner) {
+        super(cachePolicy, cleaner, levelCacheManager, interner);
+    }
+
+    @Override
+    protected ClientConfigSnapshot mergeLevels(ProductDomain domain, List<ClientConfigSnapshot> levels) {
+        if(levels.isEmpty()){
+            return EMPTY_SNAPSHOT;
+        }
+        return ClientConfigSnapshot.merge(levels);
+    }
+}
@@ -35,6 +35,10 @@ public class DefaultClientApplicationInstallation implements ClientApplicationIn
         this.applicationRepository = applicationRepository;
     }
 
+    public String getApplicationId() {
+        return definition.getApplicationId();
+    }
+
     @Override
     public DefaultApplication getApplication() {
         return applicationRepository.getApplication(definition.getApplicationId());
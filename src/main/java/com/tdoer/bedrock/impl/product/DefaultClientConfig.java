@@ -126,6 +126,6 @@ public class DefaultClientConfig implements ClientConfig {
     @Override
     public DefaultTokenConfig getTokenConfig() {
         CloudEnvironment env = CloudEnvironmentHolder.getEnvironment();
-        return configCenter.getTokenConfig(clientId, env.getTenantId());
+        return configCenter.getTokenConfig(productId, clientId, env.getTenantId());
     }
 }
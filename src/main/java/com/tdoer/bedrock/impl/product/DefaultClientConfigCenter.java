@@ -19,13 +19,16 @@ import com.tdoer.bedrock.context.ContextPath;
 import com.tdoer.bedrock.impl.cache.CachePolicy;
 import com.tdoer.bedrock.impl.cache.DormantCacheCleaner;
 import com.tdoer.bedrock.impl.domain.ClientDomain;
+import com.tdoer.bedrock.impl.domain.DomainInterner;
+import com.tdoer.bedrock.impl.domain.OverrideIndex;
 import com.tdoer.bedrock.impl.domain.ProductDomain;
 import com.tdoer.bedrock.product.ClientApplicationInstallation;
 import com.tdoer.bedrock.product.ClientConfigCenter;
 import com.tdoer.bedrock.product.ClientService;
 import com.tdoer.bedrock.product.ContextInstallation;
 
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 
 /**
@@ -34,137 +37,111 @@ import java.util.List;
  */
 public class DefaultClientConfigCenter implements ClientConfigCenter {
 
-    private ProductLoader productLoader;
+    private final DomainInterner<ProductDomain> productDomains = new DomainInterner<>();
+
+    private final DomainInterner<ClientDomain> clientDomains = new DomainInterner<>();
 
-    private ClientApplicationInstallationsCacheManager applicationInstallationsCache;
+    private ProductLoader productLoader;
 
-    private ClientServicesCacheManager servicesCacheManager;
+    private ClientConfigSnapshotCacheManager snapshotCacheManager;
 
-    private ContextInstallationsCacheManager contextInstallationCache;
+    private ClientConfigSnapshotViewCacheManager snapshotViewCacheManager;
 
     private TokenConfigCacheManager tokenConfigCacheManager;
 
     public DefaultClientConfigCenter(ProductLoader productLoader, CachePolicy cachePolicy, DormantCacheCleaner cleaner) {
         this.productLoader = productLoader;
 
-        applicationInstallationsCache = new ClientApplicationInstallationsCacheManager(cachePolicy, cleaner, productLoader);
-        servicesCacheManager = new ClientServicesCacheManager(cachePolicy, cleaner, productLoader);
-        contextInstallationCache = new ContextInstallationsCacheManager(cachePolicy, cleaner, productLoader);
+        snapshotCacheManager = new ClientConfigSnapshotCacheManager(cachePolicy, cleaner, productLoader);
         tokenConfigCacheManager = new TokenConfigCacheManager(cachePolicy, cleaner,productLoader);
 
         // Initialize cache managers
-        applicationInstallationsCache.initialize();
-        servicesCacheManager.initialize();
-        contextInstallationCache.initialize();
+        snapshotCacheManager.initialize();
         tokenConfigCacheManager.initialize();
+
+        // Merged view over the domain lookup chains
+        snapshotViewCacheManager = new ClientConfigSnapshotViewCacheManager(cachePolicy, cleaner, snapshotCacheManager, productDomains);
+        snapshotViewCacheManager.initialize();
+
+        // Override index to skip the levels without definitions, a level is skipped only if it has none of them
+        snapshotViewCacheManager.setOverrideIndex(new OverrideIndex<ProductDomain>("ClientConfigDomains") {
+            @Override
+            protected Collection<ProductDomain> loadDomains() {
+                List<ProductDomain> applications = productLoader.loadApplicationInstallationDomains();
+                List<ProductDomain> services = productLoader.loadClientServiceDomains();
+                List<ProductDomain> contexts = productLoader.loadContextInstallationDomains();
+                List<ProductDomain> tokens = productLoader.loadTokenConfigDomains();
+                if(applications == null || services == null || contexts == null || tokens == null){
+                    return null;
+                }
+                HashSet<ProductDomain> domains = new HashSet<>(applications);
+                domains.addAll(services);
+                domains.addAll(contexts);
+                domains.addAll(tokens);
+                return domains;
+            }
+        });
+    }
+
+    /**
+     * Get the client configuration snapshot of the product, client and tenant, merged over its lookup chain
+     *
+     * @param productId Product Id, cannot be null
+     * @param clientId Client Id
+     * @param tenantId Tenant Id
+     * @return the snapshot, not null
+     */
+    public ClientConfigSnapshot getClientConfigSnapshot(String productId, String clientId, Long tenantId) {
+        return snapshotViewCacheManager.getSource(new ProductDomain(productId, clientId, tenantId));
     }
 
     @Override
     public DefaultClientApplicationInstallation getApplicationInstallation(String applicationId, String productId, String clientId, Long tenantId) {
-        ArrayList<ClientApplicationInstallation> list = new ArrayList<>();
-        listApplicationInstallations(productId, clientId, tenantId, list);
-        for(ClientApplicationInstallation installation : list){
-            if(installation.getApplication().getId().equals(applicationId)){
-                return (DefaultClientApplicationInstallation) installation;
-            }
-        }
-        return null;
+        return getClientConfigSnapshot(productId, clientId, tenantId).getApplicationInstallation(applicationId);
     }
 
     @Override
     public void listApplicationInstallations(String productId, String clientId, Long tenantId, List<ClientApplicationInstallation> list) {
-        ProductDomain domain = new ProductDomain(productId, clientId, tenantId);
-        DefaultClientApplicationInstallation[] arr;
-        do{
-            arr = applicationInstallationsCache.getSource(domain);
-            if(arr != null){
-                for(DefaultClientApplicationInstallation ai : arr){
-                    list.add(ai);
-                }
-            }
-
-            domain = domain.nextLookup();
-        }while(domain != null);
+        list.addAll(getClientConfigSnapshot(productId, clientId, tenantId).getApplicationInstallations().values());
     }
 
     @Override
     public DefaultClientService getClientService(String serviceId, String productId, String clientId, Long tenantId) {
-        ArrayList<ClientService> list = new ArrayList<>();
-        listClientServices(productId, clientId, tenantId, list);
-        for(ClientService clientService : list){
-            if(clientService.getService().getId().equals(serviceId)){
-                return (DefaultClientService) clientService;
-            }
-        }
-        return null;
+        return getClientConfigSnapshot(productId, clientId, tenantId).getClientService(serviceId);
     }
 
     @Override
     public void listClientServices(String productId, String clientId, Long tenantId, List<ClientService> list) {
-        ProductDomain domain = new ProductDomain(productId, clientId, tenantId);
-        DefaultClientService[] arr;
-        do{
-            arr = servicesCacheManager.getSource(domain);
-            if(arr != null){
-                for(DefaultClientService ai : arr){
-                    list.add(ai);
-                }
-            }
-
-            domain = domain.nextLookup();
-        }while(domain != null);
+        list.addAll(getClientConfigSnapshot(productId, clientId, tenantId).getClientServices().values());
     }
 
     @Override
     public DefaultContextInstallation getContextInstallation(ContextPath contextPath, String productId, String clientId, Long tenantId) {
-        ArrayList<ContextInstallation> list = new ArrayList<>();
-        listContextInstallations(productId, clientId, tenantId, list);
-
-        do{
-            for(ContextInstallation installation : list){
-                if(installation.getContextPath().equals(contextPath)){
-                    return (DefaultContextInstallation) installation;
-                }
-            }
-            ContextPath next = contextPath.parentTemplate();
-            if(next.equals(contextPath)){
-                // reach the end
-                break;
-            }
-            contextPath = next;
-        }while(true);
-
-        return null;
+        return getClientConfigSnapshot(productId, clientId, tenantId).getContextInstallation(contextPath);
     }
 
 
     @Override
     public void listContextInstallations(String productId, String clientId, Long tenantId, List<ContextInstallation> list) {
-        ProductDomain domain = new ProductDomain(productId, clientId, tenantId);
-        DefaultContextInstallation[] arr;
-        do{
-            arr = contextInstallationCache.getSource(domain);
-            if(arr != null){
-                for(DefaultContextInstallation ai : arr){
-                    list.add(ai);
-                }
-            }
-            domain = domain.nextLookup();
-        } while(domain != null);
+        list.addAll(getClientConfigSnapshot(productId, clientId, tenantId).getContextInstallations().values());
+    }
+
+    /**
+     * Get token configuration of the client and tenant from the client configuration snapshot
+     */
+    public DefaultTokenConfig getTokenConfig(String productId, String clientId, Long tenantId) {
+        return getClientConfigSnapshot(productId, clientId, tenantId).getTokenConfig();
     }
 
     @Override
     public DefaultTokenConfig getTokenConfig(String clientId, Long tenantId) {
-        ClientDomain clientDomain = new ClientDomain(clientId, tenantId);
         DefaultTokenConfig candidate;
-        do{
+        for(ClientDomain clientDomain : clientDomains.getLookupChain(new ClientDomain(clientId, tenantId))){
             candidate = tokenConfigCacheManager.getSource(clientDomain);
             if(candidate != null){
                 return candidate;
             }
-
-            clientDomain = clientDomain.nextLookup();
-        } while (clientDomain != null);
+        }
 
         return null;
     }
@@ -35,6 +35,10 @@ public class DefaultClientService implements ClientService {
         this.serviceRepository = serviceRepository;
     }
 
+    public String getServiceId() {
+        return definition.getServiceId();
+    }
+
     @Override
     public DefaultService getService() {
         return serviceRepository.getService(definition.getServiceId());
@@ -18,9 +18,13 @@ package com.tdoer.bedrock.impl.product;
 import com.tdoer.bedrock.context.ContextPathParser;
 import com.tdoer.bedrock.impl.application.DefaultApplicationRepository;
 import com.tdoer.bedrock.impl.context.DefaultRootContextType;
+import com.tdoer.bedrock.impl.definition.DomainDefinition;
 import com.tdoer.bedrock.impl.definition.product.*;
+import com.tdoer.bedrock.impl.domain.ProductDomain;
 import com.tdoer.bedrock.impl.provider.ProductProvider;
 import com.tdoer.bedrock.impl.service.DefaultServiceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -30,11 +34,17 @@ import java.util.List;
  * @create 2017-09-19
  */
 public class ProductLoader {
+    private final static Logger logger = LoggerFactory.getLogger(ProductLoader.class);
 
     private ProductProvider productProvider;
 
     private ProductBuilder productBuilder;
 
+    /**
+     * Whether the product provider supports client configuration bundles, it's turned off once the provider returns null
+     */
+    private volatile boolean bundleSupported = true;
+
     public ProductLoader(ProductProvider productProvider, DefaultClientConfigCenter clientConfigCenter, DefaultServiceRepository serviceRepository, DefaultApplicationRepository applicationRepository, DefaultRootContextType rootContextType, ContextPathParser contextPathParser) {
         this.productProvider = productProvider;
         this.productBuilder = new ProductBuilder(serviceRepository, applicationRepository, rootContextType, contextPathParser, clientConfigCenter);
@@ -73,7 +83,10 @@ public class ProductLoader {
     }
 
     public DefaultClientApplicationInstallation[] loadApplicationInstallations(String productId, String clientId, Long tenantId){
-        List<ClientApplicationDefinition> list = productProvider.getClientApplicationDefinitions(productId, clientId, tenantId);
+        return buildApplicationInstallations(productProvider.getClientApplicationDefinitions(productId, clientId, tenantId));
+    }
+
+    protected DefaultClientApplicationInstallation[] buildApplicationInstallations(List<ClientApplicationDefinition> list){
         if(list == null || list.size() == 0){
             // todo log
             return null;
@@ -93,7 +106,10 @@ public class ProductLoader {
     }
 
     public DefaultClientService[] loadClientServices(String productId, String clientId, Long tenantId){
-        List<ClientServiceDefinition> list = productProvider.getClientServiceDefinitions(productId, clientId, tenantId);
+        return buildClientServices(productProvider.getClientServiceDefinitions(productId, clientId, tenantId));
+    }
+
+    protected DefaultClientService[] buildClientServices(List<ClientServiceDefinition> list){
         if(list == null || list.size() == 0){
             // todo log
             return null;
@@ -113,7 +129,10 @@ public class ProductLoader {
     }
 
     public DefaultContextInstallation[] loadContextInstallations(String productId, String clientId, Long tenantId){
-        List<ClientContextDefinition> list = productProvider.getClientContextDefinitions(productId, clientId, tenantId);
+        return buildContextInstallations(productProvider.getClientContextDefinitions(productId, clientId, tenantId));
+    }
+
+    protected DefaultContextInstallation[] buildContextInstallations(List<ClientContextDefinition> list){
         if(list == null || list.size() == 0){
             // todo, log
             return null;
@@ -142,4 +161,61 @@ public class ProductLoader {
         return productBuilder.buildTokenConfig(definition);
     }
 
+    /**
+     * Load application installations, client services, context installations and token configuration of the
+     * product domain, in one provider call if the provider supports client configuration bundles.
+     *
+     * @return the snapshot of the product domain only, not merged with the levels it falls back to
+     */
+    public ClientConfigSnapshot loadClientConfigSnapshot(String productId, String clientId, Long tenantId){
+        if(bundleSupported){
+            ClientConfigBundleDefinition definition = productProvider.getClientConfigBundle(productId, clientId, tenantId);
+            if(definition != null){
+                ClientTokenDefinition token = definition.getToken();
+                return new ClientConfigSnapshot(buildApplicationInstallations(definition.getApplications()),
+                        buildClientServices(definition.getServices()), buildContextInstallations(definition.getContexts()),
+                        token == null ? null : productBuilder.buildTokenConfig(token));
+            }
+            bundleSupported = false;
+            logger.info("Client configuration bundle is not supported by the product provider, loading client configurations separately");
+        }
+
+        return new ClientConfigSnapshot(loadApplicationInstallations(productId, clientId, tenantId),
+                loadClientServices(productId, clientId, tenantId), loadContextInstallations(productId, clientId, tenantId),
+                clientId == null ? null : loadTokenConfig(clientId, tenantId));
+    }
+
+
+    public List<ProductDomain> loadApplicationInstallationDomains(){
+        return buildProductDomains(productProvider.getClientApplicationDomains());
+    }
+
+    public List<ProductDomain> loadClientServiceDomains(){
+        return buildProductDomains(productProvider.getClientServiceDomains());
+    }
+
+    public List<ProductDomain> loadContextInstallationDomains(){
+        return buildProductDomains(productProvider.getClientContextDomains());
+    }
+
+    public List<ProductDomain> loadTokenConfigDomains(){
+        return buildProductDomains(productProvider.getClientTokenDomains());
+    }
+
+    protected List<ProductDomain> buildProductDomains(List<DomainDefinition> definitions){
+        if(definitions == null){
+            return null;
+        }
+
+        ArrayList<ProductDomain> list = new ArrayList<>(definitions.size());
+        for(DomainDefinition definition : definitions){
+            Long tenantId = definition.getTenantId();
+            list.add(new ProductDomain(definition.getProductId(), definition.getClientId(), tenantId == null ? 0L : tenantId));
+            if(tenantId == null || tenantId == 0){
+                // for all tenants, which is looked up with null tenant Id as well
+                list.add(new ProductDomain(definition.getProductId(), definition.getClientId(), null));
+            }
+        }
+        return list;
+    }
 }
@@ -16,12 +16,15 @@
 package com.tdoer.bedrock.impl.provider;
 
 import com.tdoer.bedrock.context.ContextPath;
+import com.tdoer.bedrock.impl.definition.DomainDefinition;
 import com.tdoer.bedrock.impl.definition.application.ActionDefinition;
 import com.tdoer.bedrock.impl.definition.application.ApplicationDefinition;
 import com.tdoer.bedrock.impl.definition.application.ApplicationServiceDefinition;
 import com.tdoer.bedrock.impl.definition.application.PageDefinition;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Htinker Hu (htinker@163.com)
@@ -59,4 +62,65 @@ public interface ApplicationProvider {
      */
     List<Long> getServiceMethodIdsOfAction(String applicationId, Long pageId, Long actionId);
 
+    /**
+     * Get available provider methods of the pages in one call. It calls {@link #getServiceMethodIdsOfPage(String, Long)}
+     * for each page by default, override it to query them at once.
+     *
+     * @param applicationId Application Id
+     * @param pageIds Page Ids
+     * @return method Ids by page Ids
+     */
+    default Map<Long, List<Long>> getServiceMethodIdsOfPages(String applicationId, List<Long> pageIds){
+        HashMap<Long, List<Long>> ret = new HashMap<>();
+        for(Long pageId : pageIds){
+            ret.put(pageId, getServiceMethodIdsOfPage(applicationId, pageId));
+        }
+        return ret;
+    }
+
+    /**
+     * Get available provider methods of the actions in one call. It calls {@link #getServiceMethodIdsOfAction(String, Long, Long)}
+     * for each action by default, override it to query them at once.
+     *
+     * @param applicationId Application Id
+     * @param actions Action definitions, of which page Ids and action Ids are used
+     * @return method Ids by action Ids
+     */
+    default Map<Long, List<Long>> getServiceMethodIdsOfActions(String applicationId, List<ActionDefinition> actions){
+        HashMap<Long, List<Long>> ret = new HashMap<>();
+        for(ActionDefinition action : actions){
+            ret.put(action.getId(), getServiceMethodIdsOfAction(applicationId, action.getPageId(), action.getId()));
+        }
+        return ret;
+    }
+
+    /**
+     * Get domains having page definitions, i.e., (application Id as owner Id, product Id, client Id, tenant Id, context path) of the definitions,
+     * reported in the way they're looked up, e.g., tenant Id 0 for all tenants. It's used to build the
+     * override index, so that domains without definitions are skipped in lookup.
+     *
+     * @return domain definitions, or null if not supported, then no domain is skipped
+     */
+    default List<DomainDefinition> getPageDomains(){
+        return null;
+    }
+
+    /**
+     * Get domains having action definitions, see {@link #getPageDomains()}
+     *
+     * @return domain definitions, or null if not supported
+     */
+    default List<DomainDefinition> getActionDomains(){
+        return null;
+    }
+
+    /**
+     * Get domains having application service definitions, see {@link #getPageDomains()}
+     *
+     * @return domain definitions, or null if not supported
+     */
+    default List<DomainDefinition> getApplicationServiceDomains(){
+        return null;
+    }
+
 }
@@ -16,9 +16,12 @@
 package com.tdoer.bedrock.impl.provider;
 
 import com.tdoer.bedrock.context.ContextPath;
+import com.tdoer.bedrock.impl.definition.DomainDefinition;
 import com.tdoer.bedrock.impl.definition.context.*;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Htinker Hu (htinker@163.com)
@@ -34,8 +37,35 @@ public interface ContextProvider {
 
     List<PublicAuthorityDefinition> getPublicAuthorities(ContextPath contextPath, String productId, String clientId, Long tenantId);
 
+    /**
+     * Get roles, applications and public authorities of the context domain in one call, instead of calling
+     * {@link #getContextRoles}, {@link #getContextApplications} and {@link #getPublicAuthorities} separately.
+     * An empty bundle should be returned if the domain has no configurations.
+     *
+     * @return the bundle, or null if not supported, then they're loaded separately
+     */
+    default ContextBundleDefinition getContextBundle(ContextPath contextPath, String productId, String clientId, Long tenantId){
+        return null;
+    }
+
     List<ContextRoleAuthorityDefinition> getContextRoleAuthorities(ContextPath contextPath, Long roleId);
 
+    /**
+     * Get authorities of the roles in one call. It calls {@link #getContextRoleAuthorities(ContextPath, Long)}
+     * for each role by default, override it to query them at once.
+     *
+     * @param contextPath Context path of the roles
+     * @param roleIds Role Ids
+     * @return authority definitions by role Ids
+     */
+    default Map<Long, List<ContextRoleAuthorityDefinition>> getContextRolesAuthorities(ContextPath contextPath, List<Long> roleIds){
+        HashMap<Long, List<ContextRoleAuthorityDefinition>> ret = new HashMap<>();
+        for(Long roleId : roleIds){
+            ret.put(roleId, getContextRoleAuthorities(contextPath, roleId));
+        }
+        return ret;
+    }
+
     ContextInstanceDefinition getContextInstance(ContextPath contextPath);
 
     /*
@@ -43,4 +73,33 @@ public interface ContextProvider {
      */
     List<ContextRoleDefinition> getUserRolesInContext(ContextPath contextPath, Long userId);
 
+    /**
+     * Get domains having context application definitions, i.e., (context path, product Id, client Id, tenant Id) of the definitions,
+     * reported in the way they're looked up, e.g., tenant Id 0 for all tenants. It's used to build the
+     * override index, so that domains without definitions are skipped in lookup.
+     *
+     * @return domain definitions, or null if not supported, then no domain is skipped
+     */
+    default List<DomainDefinition> getContextApplicationDomains(){
+        return null;
+    }
+
+    /**
+     * Get domains having context role definitions, see {@link #getContextApplicationDomains()}
+     *
+     * @return domain definitions, or null if not supported
+     */
+    default List<DomainDefinition> getContextRoleDomains(){
+        return null;
+    }
+
+    /**
+     * Get domains having public authority definitions, see {@link #getContextApplicationDomains()}
+     *
+     * @return domain definitions, or null if not supported
+     */
+    default List<DomainDefinition> getPublicAuthorityDomains(){
+        return null;
+    }
+
 }
@@ -15,6 +15,7 @@
  */
 package com.tdoer.bedrock.impl.provider;
 
+import com.tdoer.bedrock.impl.definition.DomainDefinition;
 import com.tdoer.bedrock.impl.definition.product.*;
 import java.util.List;
 
@@ -38,4 +39,55 @@ public interface ProductProvider {
 
     ClientTokenDefinition getClientTokenDefinition(String clientId, Long tenantId);
 
+    /**
+     * Get client application, service, context and token definitions of the product domain in one call, they're
+     * the same as those got from {@link #getClientApplicationDefinitions(String, String, Long)},
+     * {@link #getClientServiceDefinitions(String, String, Long)}, {@link #getClientContextDefinitions(String, String, Long)}
+     * and {@link #getClientTokenDefinition(String, Long)} respectively.
+     * An empty bundle should be returned if the domain has no configurations.
+     *
+     * @return the bundle definition, or null if not supported, then they're got separately
+     */
+    default ClientConfigBundleDefinition getClientConfigBundle(String productId, String clientId, Long tenantId){
+        return null;
+    }
+
+    /**
+     * Get domains having client application definitions, i.e., (product Id, client Id, tenant Id) of the definitions,
+     * reported in the way they're looked up, e.g., tenant Id 0 for all tenants. It's used to build the
+     * override index, so that domains without definitions are skipped in lookup.
+     *
+     * @return domain definitions, or null if not supported, then no domain is skipped
+     */
+    default List<DomainDefinition> getClientApplicationDomains(){
+        return null;
+    }
+
+    /**
+     * Get domains having client service definitions, see {@link #getClientApplicationDomains()}
+     *
+     * @return domain definitions, or null if not supported
+     */
+    default List<DomainDefinition> getClientServiceDomains(){
+        return null;
+    }
+
+    /**
+     * Get domains having client context definitions, see {@link #getClientApplicationDomains()}
+     *
+     * @return domain definitions, or null if not supported
+     */
+    default List<DomainDefinition> getClientContextDomains(){
+        return null;
+    }
+
+    /**
+     * Get domains having client token definitions, with product Id of the clients, see {@link #getClientApplicationDomains()}
+     *
+     * @return domain definitions, or null if not supported
+     */
+    default List<DomainDefinition> getClientTokenDomains(){
+        return null;
+    }
+
 }
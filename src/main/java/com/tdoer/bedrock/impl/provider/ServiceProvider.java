@@ -16,9 +16,11 @@
 package com.tdoer.bedrock.impl.provider;
 
 import com.tdoer.bedrock.context.ContextPath;
+import com.tdoer.bedrock.impl.definition.DomainDefinition;
 import com.tdoer.bedrock.impl.definition.service.ServiceDefinition;
 import com.tdoer.bedrock.impl.definition.service.ServiceMethodDefinition;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -32,4 +34,33 @@ public interface ServiceProvider {
     List<ServiceMethodDefinition> getServiceMethodDefinitions(String serviceId, String productId, String clientId, Long tenantId, ContextPath contextPath);
 
     ServiceMethodDefinition getServiceMethodDefinition(Long methodId);
+
+    /**
+     * Get service method definitions of the method Ids in one call. It calls {@link #getServiceMethodDefinition(Long)}
+     * for each method by default, override it to query them at once.
+     *
+     * @param methodIds Method Ids
+     * @return definitions found
+     */
+    default List<ServiceMethodDefinition> getServiceMethodDefinitions(List<Long> methodIds){
+        ArrayList<ServiceMethodDefinition> ret = new ArrayList<>(methodIds.size());
+        for(Long methodId : methodIds){
+            ServiceMethodDefinition definition = getServiceMethodDefinition(methodId);
+            if(definition != null){
+                ret.add(definition);
+            }
+        }
+        return ret;
+    }
+    /**
+     * Get domains having service method definitions, i.e., (service Id as owner Id, product Id, client Id, tenant Id, context path) of the definitions,
+     * reported in the way they're looked up, e.g., tenant Id 0 for all tenants. It's used to build the
+     * override index, so that domains without definitions are skipped in lookup.
+     *
+     * @return domain definitions, or null if not supported, then no domain is skipped
+     */
+    default List<DomainDefinition> getServiceMethodDomains(){
+        return null;
+    }
+
 }
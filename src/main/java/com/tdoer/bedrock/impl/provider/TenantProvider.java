@@ -19,6 +19,7 @@ import com.tdoer.bedrock.impl.definition.tenant.TenantClientDefinition;
 import com.tdoer.bedrock.impl.definition.tenant.TenantDefinition;
 import com.tdoer.bedrock.impl.definition.tenant.TenantProductDefinition;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -40,6 +41,25 @@ public interface TenantProvider {
 
     TenantClientDefinition getTenantClientDefinition(String clientId, Long tenantId);
 
+    /**
+     * Get tenant client definitions of the clients in one call. It calls {@link #getTenantClientDefinition(String, Long)}
+     * for each client by default, override it to query them at once.
+     *
+     * @param clientIds Client Ids
+     * @param tenantId Tenant Id
+     * @return definitions found
+     */
+    default List<TenantClientDefinition> getTenantClientDefinitions(List<String> clientIds, Long tenantId){
+        ArrayList<TenantClientDefinition> list = new ArrayList<>(clientIds.size());
+        for(String clientId : clientIds){
+            TenantClientDefinition definition = getTenantClientDefinition(clientId, tenantId);
+            if(definition != null){
+                list.add(definition);
+            }
+        }
+        return list;
+    }
+
     List<String> getProductIds(Long tenantId);
 
     List<String> getClientIds(Long tenantId);
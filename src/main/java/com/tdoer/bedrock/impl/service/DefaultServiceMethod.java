@@ -19,7 +19,6 @@ import com.tdoer.bedrock.context.ContextPath;
 import com.tdoer.bedrock.impl.definition.service.ServiceMethodDefinition;
 import com.tdoer.bedrock.service.ServiceMethod;
 import org.springframework.http.HttpMethod;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 
 /**
@@ -30,15 +29,19 @@ public class DefaultServiceMethod implements ServiceMethod {
 
     private ServiceMethodDefinition definition;
 
-    private static final AntPathMatcher antPathMatcher = new AntPathMatcher();
-
     private ContextPath contextPath;
 
+    private final HttpMethod httpMethod;
+
+    private final UriPattern uriPattern;
+
     public DefaultServiceMethod(ServiceMethodDefinition definition, ContextPath contextPath){
         Assert.notNull(definition, "ServiceMethodDefinition cannot be null");
 
         this.definition = definition;
         this.contextPath = contextPath;
+        this.httpMethod = HttpMethod.resolve(definition.getMethod());
+        this.uriPattern = (definition.getUri() == null ? null : new UriPattern(definition.getUri()));
     }
 
     /**
@@ -68,7 +71,7 @@ public class DefaultServiceMethod implements ServiceMethod {
      */
     @Override
     public HttpMethod getHttpMethod() {
-        return HttpMethod.resolve(definition.getMethod());
+        return httpMethod;
     }
 
     /**
@@ -133,14 +136,10 @@ public class DefaultServiceMethod implements ServiceMethod {
 
     @Override
     public boolean match(String httpMethod, String path) {
-        if(!antPathMatcher.match(definition.getUri(), path)){
+        if(this.httpMethod != null && !this.httpMethod.matches(httpMethod)){
             return false;
         }
 
-        if(getHttpMethod() == null || getHttpMethod().matches(httpMethod)){
-            return true;
-        }
-
-        return false;
+        return uriPattern != null && uriPattern.match(path);
     }
 }
@@ -18,12 +18,17 @@ package com.tdoer.bedrock.impl.service;
 import com.tdoer.bedrock.context.ContextPath;
 import com.tdoer.bedrock.impl.cache.CachePolicy;
 import com.tdoer.bedrock.impl.cache.DormantCacheCleaner;
+import com.tdoer.bedrock.impl.domain.DomainInterner;
+import com.tdoer.bedrock.impl.domain.MergedViewCacheManager;
+import com.tdoer.bedrock.impl.domain.OverrideIndex;
 import com.tdoer.bedrock.impl.domain.ServiceDomain;
 import com.tdoer.bedrock.service.ServiceMethod;
 import com.tdoer.bedrock.service.ServiceRepository;
 import org.springframework.util.Assert;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Htinker Hu (htinker@163.com)
@@ -31,10 +36,14 @@ import java.util.List;
  */
 public class DefaultServiceRepository implements ServiceRepository {
 
+    private final DomainInterner<ServiceDomain> serviceDomains = new DomainInterner<>();
+
     private ServiceCacheManager serviceCacheManager;
     
     private ServiceMethodsCacheManager methodsCacheManager;
 
+    private MergedViewCacheManager<ServiceDomain, DefaultServiceMethod> methodsViewCacheManager;
+
     private ServiceMethodCacheManager methodCacheManager;
     
     public DefaultServiceRepository(ServiceLoader serviceLoader, CachePolicy cachePolicy, DormantCacheCleaner cleaner){
@@ -49,8 +58,20 @@ public class DefaultServiceRepository implements ServiceRepository {
 
         // Initialize cache manager
         serviceCacheManager.initialize();
+        methodsCacheManager.initialize();
         methodCacheManager.initialize();
-        methodCacheManager.initialize();
+
+        // Merged views over the domain lookup chains
+        methodsViewCacheManager = new MergedViewCacheManager<>(cachePolicy, cleaner, methodsCacheManager, serviceDomains, DefaultServiceMethod.class);
+        methodsViewCacheManager.initialize();
+
+        // Override indexes to skip the levels without definitions
+        methodsViewCacheManager.setOverrideIndex(new OverrideIndex<ServiceDomain>("ServiceMethodDomains") {
+            @Override
+            protected Collection<ServiceDomain> loadDomains() {
+                return serviceLoader.loadServiceMethodDomains();
+            }
+        });
     }
     
     @Override
@@ -60,16 +81,12 @@ public class DefaultServiceRepository implements ServiceRepository {
 
     @Override
     public void listServiceMethods(String serviceId, String productId, String clientId, Long tenantId, ContextPath contextPath, List<ServiceMethod> list) {
-        ServiceDomain domain = new ServiceDomain(serviceId, productId, clientId, tenantId, contextPath);
-        do{
-            DefaultServiceMethod[] methods = methodsCacheManager.getSource(domain);
-            if(methods != null){
-                for(DefaultServiceMethod method : methods){
-                    list.add(method);
-                }
+        DefaultServiceMethod[] methods = methodsViewCacheManager.getSource(new ServiceDomain(serviceId, productId, clientId, tenantId, contextPath));
+        if(methods != null){
+            for(DefaultServiceMethod method : methods){
+                list.add(method);
             }
-            domain = domain.nextLookup();
-        }while(domain != null);
+        }
 
     }
 
@@ -77,4 +94,14 @@ public class DefaultServiceRepository implements ServiceRepository {
     public DefaultServiceMethod getServiceMethod(Long methodId) {
         return methodCacheManager.getSource(methodId);
     }
+
+    /**
+     * Get service methods of the method Ids in one pass, the methods not cached are loaded in bulk.
+     *
+     * @param methodIds Method Ids
+     * @return service methods by method Ids, methods failed to load are absent
+     */
+    public Map<Long, DefaultServiceMethod> getServiceMethods(Collection<Long> methodIds) {
+        return methodCacheManager.getSources(methodIds);
+    }
 }
@@ -16,7 +16,9 @@
 package com.tdoer.bedrock.impl.service;
 
 import com.tdoer.bedrock.ProviderFailedException;
+import com.tdoer.bedrock.context.ContextPath;
 import com.tdoer.bedrock.context.ContextPathParser;
+import com.tdoer.bedrock.impl.definition.DomainDefinition;
 import com.tdoer.bedrock.impl.definition.service.ServiceDefinition;
 import com.tdoer.bedrock.impl.definition.service.ServiceMethodDefinition;
 import com.tdoer.bedrock.impl.domain.ServiceDomain;
@@ -26,7 +28,9 @@ import com.tdoer.springboot.error.ErrorCodeException;
 import org.springframework.util.Assert;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.tdoer.bedrock.impl.BedrockImplErrorCodes.*;
 
@@ -92,6 +96,17 @@ public class ServiceLoader {
         return ret;
     }
 
+    public Map<Long, DefaultServiceMethod> loadServiceMethods(List<Long> methodIds){
+        List<ServiceMethodDefinition> list = serviceProvider.getServiceMethodDefinitions(methodIds);
+        HashMap<Long, DefaultServiceMethod> ret = new HashMap<>();
+        if(list != null){
+            for(ServiceMethodDefinition definition : list){
+                ret.put(definition.getId(), serviceBuilder.buildServiceMethod(definition));
+            }
+        }
+        return ret;
+    }
+
     public DefaultServiceMethod loadServiceMethod(Long methodId){
         ServiceMethodDefinition definition = serviceProvider.getServiceMethodDefinition(methodId);
         if(definition == null){
@@ -100,4 +115,24 @@ public class ServiceLoader {
             return serviceBuilder.buildServiceMethod(definition);
         }
     }
+
+    public List<ServiceDomain> loadServiceMethodDomains(){
+        List<DomainDefinition> definitions = serviceProvider.getServiceMethodDomains();
+        if(definitions == null){
+            return null;
+        }
+
+        ArrayList<ServiceDomain> list = new ArrayList<>(definitions.size());
+        for(DomainDefinition definition : definitions){
+            String cp = definition.getContextPath();
+            ContextPath contextPath = (cp == null || cp.length() == 0) ? null : contextPathParser.parse(cp);
+            Long tenantId = definition.getTenantId();
+            list.add(new ServiceDomain(definition.getOwnerId(), definition.getProductId(), definition.getClientId(), tenantId == null ? 0L : tenantId, contextPath));
+            if(tenantId == null || tenantId == 0){
+                // for all tenants, which is looked up with null tenant Id as well
+                list.add(new ServiceDomain(definition.getOwnerId(), definition.getProductId(), definition.getClientId(), null, contextPath));
+            }
+        }
+        return list;
+    }
 }
@@ -23,7 +23,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
 
+import java.util.List;
+import java.util.Map;
+
 import static com.tdoer.bedrock.impl.BedrockImplErrorCodes.FAILED_TO_LOAD_SERVICE_METHOD;
+import static com.tdoer.bedrock.impl.BedrockImplErrorCodes.SERVICE_METHOD_NOT_FOUND;
 
 /**
  * @author Htinker Hu (htinker@163.com)
@@ -56,6 +60,26 @@ public class ServiceMethodCacheManager extends AbstractCacheManager<Long, Defaul
         }
     }
 
+    @Override
+    protected Map<Long, DefaultServiceMethod> loadSources(List<Long> methodIds) throws ErrorCodeException {
+        try{
+            logger.info("Loading {} methods of Ids {} ...", methodIds.size(), methodIds);
+            Map<Long, DefaultServiceMethod> ret = loader.loadServiceMethods(methodIds);
+            logger.info("Loaded {} methods of Ids {}", ret.size(), methodIds);
+            return ret;
+        } catch (ErrorCodeException ece) {
+            throw ece;
+        } catch (Throwable t){
+            logger.error("Failed to load methods of Ids {}", methodIds, t);
+            throw new ErrorCodeException(FAILED_TO_LOAD_SERVICE_METHOD, t, methodIds);
+        }
+    }
+
+    @Override
+    protected ErrorCodeException sourceNotFound(Long methodId) {
+        return new ErrorCodeException(SERVICE_METHOD_NOT_FOUND, methodId);
+    }
+
     @Override
     protected void destroySource(DefaultServiceMethod defaultService) {
         // do nothing here
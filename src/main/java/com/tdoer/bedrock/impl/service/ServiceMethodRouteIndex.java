@@ -0,0 +1,253 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.service;
+
+import com.tdoer.bedrock.service.ServiceMethod;
+import org.springframework.http.HttpMethod;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Route index of service methods, a trie of URI path segments for each HTTP method, so that a request is
+ * matched by one walk of the trie instead of matching the URI pattern of each service method.
+ * <p>
+ * A segment of URI pattern is indexed as a literal, or <code>**</code> which matches zero or more segments,
+ * or otherwise a wildcard matching any segment, e.g., <code>*</code>, <code>{var}</code> and <code>*.json</code>.
+ * Service methods found by the walk are confirmed by {@link ServiceMethod#match(String, String)}, so the index
+ * matches exactly as the service methods do. Service methods without HTTP method match requests of all HTTP
+ * methods. The index is immutable once built.
+ *
+ * @create 2026-10-18
+ */
+public class ServiceMethodRouteIndex {
+
+    public static final ServiceMethodRouteIndex EMPTY = new ServiceMethodRouteIndex(Collections.<ServiceMethod>emptyList());
+
+    /**
+     * Tries by HTTP method name, service methods without HTTP method are in {@link #anyMethod}
+     */
+    private final Map<String, Node> roots = new HashMap<>();
+
+    private final Node anyMethod = new Node();
+
+    /**
+     * Service methods without URI pattern, checked for all requests
+     */
+    private final List<ServiceMethod> unindexed = new ArrayList<>();
+
+    private final int size;
+
+    public ServiceMethodRouteIndex(Collection<? extends ServiceMethod> methods) {
+        Set<ServiceMethod> indexed = Collections.newSetFromMap(new IdentityHashMap<ServiceMethod, Boolean>());
+        for(ServiceMethod method : methods){
+            if(!indexed.add(method)){
+                continue;
+            }
+
+            String uri = method.getURI();
+            if(uri == null){
+                unindexed.add(method);
+                continue;
+            }
+
+            HttpMethod httpMethod = method.getHttpMethod();
+            Node node;
+            if(httpMethod == null){
+                node = anyMethod;
+            }else{
+                node = roots.get(httpMethod.name());
+                if(node == null){
+                    node = new Node();
+                    roots.put(httpMethod.name(), node);
+                }
+            }
+            for(String segment : tokenize(uri)){
+                node = node.child(segment);
+            }
+            node.methods.add(method);
+        }
+        this.size = indexed.size();
+    }
+
+    /**
+     * Returns number of service methods indexed
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Match the request
+     *
+     * @param httpMethod HTTP method of the request
+     * @param path Path of the request
+     * @return the first service method matching the request, or null if none
+     */
+    public ServiceMethod match(String httpMethod, String path) {
+        if(size == 0){
+            return null;
+        }
+
+        ArrayList<ServiceMethod> candidates = new ArrayList<>();
+        collect(httpMethod, path, candidates);
+        for(ServiceMethod method : candidates){
+            if(method.match(httpMethod, path)){
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * List all service methods matching the request
+     *
+     * @param httpMethod HTTP method of the request
+     * @param path Path of the request
+     * @param list List to add the matched service methods to
+     */
+    public void listMatches(String httpMethod, String path, List<ServiceMethod> list) {
+        if(size == 0){
+            return;
+        }
+
+        ArrayList<ServiceMethod> candidates = new ArrayList<>();
+        collect(httpMethod, path, candidates);
+        Set<ServiceMethod> matched = Collections.newSetFromMap(new IdentityHashMap<ServiceMethod, Boolean>());
+        for(ServiceMethod method : candidates){
+            if(matched.add(method) && method.match(httpMethod, path)){
+                list.add(method);
+            }
+        }
+    }
+
+    private void collect(String httpMethod, String path, List<ServiceMethod> candidates) {
+        String[] segments = tokenize(path);
+        boolean trailingSlash = path.endsWith("/");
+        Node root = (httpMethod == null ? null : roots.get(httpMethod));
+        if(root != null){
+            walk(root, segments, 0, trailingSlash, candidates);
+        }
+        walk(anyMethod, segments, 0, trailingSlash, candidates);
+        candidates.addAll(unindexed);
+    }
+
+    private static void walk(Node node, String[] segments, int index, boolean trailingSlash, List<ServiceMethod> candidates) {
+        if(index == segments.length){
+            candidates.addAll(node.methods);
+            if(trailingSlash && node.wildcard != null){
+                // a trailing "*" matches the empty segment after a trailing slash, e.g., "/a/*" matches "/a/"
+                candidates.addAll(node.wildcard.methods);
+            }
+        }else{
+            if(node.literals != null){
+                Node next = node.literals.get(segments[index]);
+                if(next != null){
+                    walk(next, segments, index + 1, trailingSlash, candidates);
+                }
+            }
+            if(node.wildcard != null){
+                walk(node.wildcard, segments, index + 1, trailingSlash, candidates);
+            }
+        }
+
+        if(node.wildcards != null){
+            // ** matches zero or more segments
+            for(int i = index; i <= segments.length; i++){
+                walk(node.wildcards, segments, i, trailingSlash, candidates);
+            }
+        }
+    }
+
+    /**
+     * Tokenize the path by "/", ignoring empty segments, the same as how URI patterns are matched
+     */
+    private static String[] tokenize(String path) {
+        ArrayList<String> segments = new ArrayList<>();
+        int start = 0;
+        int length = path.length();
+        for(int i = 0; i <= length; i++){
+            if(i == length || path.charAt(i) == '/'){
+                if(i > start){
+                    segments.add(path.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        return segments.toArray(new String[segments.size()]);
+    }
+
+    private static boolean isLiteral(String segment) {
+        for(int i = 0; i < segment.length(); i++){
+            char c = segment.charAt(i);
+            if(c == '*' || c == '?' || c == '{'){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class Node {
+        private Map<String, Node> literals;
+
+        /**
+         * Child of the segment matching any single segment
+         */
+        private Node wildcard;
+
+        /**
+         * Child of "**"
+         */
+        private Node wildcards;
+
+        private final List<ServiceMethod> methods = new ArrayList<>(1);
+
+        private Node child(String segment) {
+            if("**".equals(segment)){
+                if(wildcards == null){
+                    wildcards = new Node();
+                }
+                return wildcards;
+            }
+            if(!isLiteral(segment)){
+                if(wildcard == null){
+                    wildcard = new Node();
+                }
+                return wildcard;
+            }
+
+            if(literals == null){
+                literals = new HashMap<>();
+            }
+            Node node = literals.get(segment);
+            if(node == null){
+                node = new Node();
+                literals.put(segment, node);
+            }
+            return node;
+        }
+    }
+}
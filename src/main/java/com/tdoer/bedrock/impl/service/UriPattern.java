@@ -0,0 +1,179 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.service;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+
+/**
+ * URI pattern of a service method compiled once, matching paths the same as {@link AntPathMatcher}. Patterns
+ * made of literal segments, whole-segment wildcards, i.e., <code>*</code> and <code>{var}</code>, and optionally
+ * a trailing <code>**</code>, are matched by comparing the segments of the path in place, without tokenizing
+ * or allocation. The other patterns, e.g., <code>*.json</code>, <code>{id:\d+}</code> and <code>/a/**&#47;b</code>,
+ * are matched by {@link AntPathMatcher}.
+ *
+ * @create 2026-10-18
+ */
+class UriPattern {
+
+    private static final AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+    private final String pattern;
+
+    /**
+     * Literal segments, null for whole-segment wildcards, or null if matched by {@link AntPathMatcher}
+     */
+    private final String[] segments;
+
+    private final boolean literal;
+
+    /**
+     * Whether the pattern ends with "**", which matches the rest of the path
+     */
+    private final boolean trailingWildcards;
+
+    /**
+     * Whether the last segment is "*", which matches an empty segment after the trailing slash
+     */
+    private final boolean lastStar;
+
+    private final boolean leadingSlash;
+
+    private final boolean trailingSlash;
+
+    UriPattern(String pattern) {
+        this.pattern = pattern;
+        this.leadingSlash = pattern.startsWith("/");
+        this.trailingSlash = pattern.endsWith("/");
+
+        ArrayList<String> list = new ArrayList<>();
+        boolean compiled = true;
+        boolean allLiteral = true;
+        boolean wildcards = false;
+        boolean star = false;
+        for(String segment : pattern.split("/")){
+            if(segment.isEmpty()){
+                continue;
+            }
+            if(wildcards){
+                // "**" in the middle
+                compiled = false;
+                break;
+            }
+            if("**".equals(segment)){
+                wildcards = true;
+                allLiteral = false;
+                continue;
+            }
+            star = "*".equals(segment);
+            if(star || isVariable(segment)){
+                list.add(null);
+                allLiteral = false;
+            }else if(isLiteral(segment)){
+                list.add(segment);
+            }else{
+                compiled = false;
+                break;
+            }
+        }
+
+        this.segments = (compiled ? list.toArray(new String[list.size()]) : null);
+        this.literal = compiled && allLiteral;
+        this.trailingWildcards = wildcards;
+        this.lastStar = star && !wildcards;
+    }
+
+    String getPattern() {
+        return pattern;
+    }
+
+    boolean match(String path) {
+        if(segments == null){
+            return antPathMatcher.match(pattern, path);
+        }
+        if(literal && pattern.equals(path)){
+            return true;
+        }
+        if(path.startsWith("/") != leadingSlash){
+            return false;
+        }
+
+        int length = path.length();
+        int pos = 0;
+        int index = 0;
+        while(true){
+            while(pos < length && path.charAt(pos) == '/'){
+                pos++;
+            }
+            if(pos == length){
+                break;
+            }
+            int end = path.indexOf('/', pos);
+            if(end < 0){
+                end = length;
+            }
+            if(index == segments.length){
+                // pattern is exhausted, but path isn't
+                return trailingWildcards;
+            }
+            String segment = segments[index];
+            if(segment != null && (segment.length() != end - pos || !path.regionMatches(pos, segment, 0, end - pos))){
+                return false;
+            }
+            index++;
+            pos = end;
+        }
+
+        // path is exhausted
+        if(index == segments.length){
+            return trailingWildcards || trailingSlash == path.endsWith("/");
+        }
+        return lastStar && index == segments.length - 1 && path.endsWith("/");
+    }
+
+    private static boolean isLiteral(String segment) {
+        for(int i = 0; i < segment.length(); i++){
+            char c = segment.charAt(i);
+            if(c == '*' || c == '?' || c == '{' || c == '}'){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * "{var}" without regular expression
+     */
+    private static boolean isVariable(String segment) {
+        int last = segment.length() - 1;
+        if(last < 1 || segment.charAt(0) != '{' || segment.charAt(last) != '}'){
+            return false;
+        }
+        for(int i = 1; i < last; i++){
+            char c = segment.charAt(i);
+            if(c == '{' || c == '}' || c == ':' || c == '*' || c == '?'){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
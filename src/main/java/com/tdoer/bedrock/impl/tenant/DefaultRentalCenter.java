@@ -20,14 +20,21 @@ import com.tdoer.bedrock.impl.cache.DormantCacheCleaner;
 import com.tdoer.bedrock.impl.domain.ClientDomain;
 import com.tdoer.bedrock.impl.domain.ProductDomain;
 import com.tdoer.bedrock.tenant.RentalCenter;
+import com.tdoer.springboot.error.ErrorCodeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 /**
  * @author Htinker Hu (htinker@163.com)
  * @create 2017-09-19
  */
 public class DefaultRentalCenter implements RentalCenter {
 
+    private static final Logger logger = LoggerFactory.getLogger(DefaultRentalCenter.class);
+
     private TenantCacheManagerByID tenantCenterByID;
 
     private TenantCacheManagerByCode tenantCenterByCode;
@@ -84,17 +91,19 @@ public class DefaultRentalCenter implements RentalCenter {
     @Override
     public DefaultProductRental[] getProductRendtal(Long tenantId) {
         String[] productIds = productIdsCacheManager.getSource(tenantId);
-        ArrayList<DefaultProductRental> list = new ArrayList<>(productIds.length);
+        ArrayList<ProductDomain> domains = new ArrayList<>(productIds.length);
         for(String productId : productIds){
-            try{
-                list.add(getProductRendtal(tenantId, productId));
-            }catch (Throwable t){
-                // todo, warn
-            }
+            domains.add(new ProductDomain(productId, null, tenantId));
         }
 
-        DefaultProductRental[] ret = new DefaultProductRental[list.size()];
-        return list.toArray(ret);
+        // rentals failed to load are absent
+        HashMap<ProductDomain, ErrorCodeException> errors = new HashMap<>();
+        Map<ProductDomain, DefaultProductRental> rentals = rentalCacheManager.getSources(domains, errors);
+        for(Map.Entry<ProductDomain, ErrorCodeException> entry : errors.entrySet()){
+            logger.warn("Skipped the product rental {} failed to load: {}", entry.getKey(), entry.getValue().getMessage());
+        }
+        DefaultProductRental[] ret = new DefaultProductRental[rentals.size()];
+        return rentals.values().toArray(ret);
     }
 
     @Override
@@ -111,16 +120,18 @@ public class DefaultRentalCenter implements RentalCenter {
     @Override
     public DefaultTenantClient[] getTenantClients(Long tenantId) {
         String[] clientIds = clientIdsCacheManager.getSource(tenantId);
-        ArrayList<DefaultTenantClient> list = new ArrayList<>(clientIds.length);
+        ArrayList<ClientDomain> domains = new ArrayList<>(clientIds.length);
         for(String clientId : clientIds){
-            try{
-                list.add(getTenantClient(tenantId, clientId));
-            }catch (Throwable t){
-                // todo, warn
-            }
+            domains.add(new ClientDomain(clientId, tenantId));
         }
 
-        DefaultTenantClient[] ret = new DefaultTenantClient[list.size()];
-        return list.toArray(ret);
+        // clients failed to load are absent
+        HashMap<ClientDomain, ErrorCodeException> errors = new HashMap<>();
+        Map<ClientDomain, DefaultTenantClient> clients = clientCacheManagerByDomain.getSources(domains, errors);
+        for(Map.Entry<ClientDomain, ErrorCodeException> entry : errors.entrySet()){
+            logger.warn("Skipped the tenant client {} failed to load: {}", entry.getKey(), entry.getValue().getMessage());
+        }
+        DefaultTenantClient[] ret = new DefaultTenantClient[clients.size()];
+        return clients.values().toArray(ret);
     }
 }
@@ -21,7 +21,12 @@ import com.tdoer.bedrock.impl.cache.DormantCacheCleaner;
 import com.tdoer.bedrock.impl.domain.ProductDomain;
 import com.tdoer.springboot.error.ErrorCodeException;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import static com.tdoer.bedrock.impl.BedrockImplErrorCodes.FAILED_TO_LOAD_PRODUCT_RENTAL;
+import static com.tdoer.bedrock.impl.BedrockImplErrorCodes.PRODUCT_RENTAL_NOT_FOUND;
 /**
  * @author Htinker Hu (htinker@163.com)
  * @create 2017-09-19
@@ -49,6 +54,39 @@ public class ProductRentalCacheManager extends AbstractCacheManager<ProductDomai
         }
     }
 
+    @Override
+    protected Map<ProductDomain, DefaultProductRental> loadSources(List<ProductDomain> domains) throws ErrorCodeException {
+        try{
+            // load all product rentals of each tenant at once
+            HashMap<Long, Map<String, DefaultProductRental>> rentalsByTenant = new HashMap<>();
+            HashMap<ProductDomain, DefaultProductRental> ret = new HashMap<>();
+            for(ProductDomain domain : domains){
+                Map<String, DefaultProductRental> rentals = rentalsByTenant.get(domain.getTenantId());
+                if(rentals == null){
+                    logger.info("Loading product rentals of tenant ({}) ...", domain.getTenantId());
+                    rentals = tenantLoader.loadProductRentals(domain.getTenantId());
+                    rentalsByTenant.put(domain.getTenantId(), rentals);
+                    logger.info("Loaded {} product rentals of tenant ({})", rentals.size(), domain.getTenantId());
+                }
+                DefaultProductRental rental = rentals.get(domain.getProductId());
+                if(rental != null){
+                    ret.put(domain, rental);
+                }
+            }
+            return ret;
+        } catch (ErrorCodeException ece) {
+            throw ece;
+        } catch (Throwable t){
+            logger.error("Failed to load product rentals of product domains {}", domains, t);
+            throw new ErrorCodeException(FAILED_TO_LOAD_PRODUCT_RENTAL, t, domains);
+        }
+    }
+
+    @Override
+    protected ErrorCodeException sourceNotFound(ProductDomain domain) {
+        return new ErrorCodeException(PRODUCT_RENTAL_NOT_FOUND, domain.getProductId(), domain.getTenantId());
+    }
+
     @Override
     protected void destroySource(DefaultProductRental defaultProductRental) {
         // do nothing
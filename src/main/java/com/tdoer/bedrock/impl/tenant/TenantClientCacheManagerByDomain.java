@@ -21,7 +21,14 @@ import com.tdoer.bedrock.impl.cache.DormantCacheCleaner;
 import com.tdoer.bedrock.impl.domain.ClientDomain;
 import com.tdoer.springboot.error.ErrorCodeException;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import static com.tdoer.bedrock.impl.BedrockImplErrorCodes.FAILED_TO_LOAD_TENANT_CLIENT_OF_DOMAIN;
+import static com.tdoer.bedrock.impl.BedrockImplErrorCodes.TENANT_CLIENT_NOT_FOUND;
 /**
  * @author Htinker Hu (htinker@163.com)
  * @create 2017-09-19
@@ -50,6 +57,43 @@ public class TenantClientCacheManagerByDomain extends AbstractCacheManager<Clien
         }
     }
 
+    @Override
+    protected Map<ClientDomain, DefaultTenantClient> loadSources(List<ClientDomain> clientDomains) throws ErrorCodeException {
+        try{
+            // load the clients of each tenant at once
+            LinkedHashMap<Long, List<String>> clientIdsByTenant = new LinkedHashMap<>();
+            for(ClientDomain clientDomain : clientDomains){
+                List<String> clientIds = clientIdsByTenant.get(clientDomain.getTenantId());
+                if(clientIds == null){
+                    clientIds = new ArrayList<>();
+                    clientIdsByTenant.put(clientDomain.getTenantId(), clientIds);
+                }
+                clientIds.add(clientDomain.getClientId());
+            }
+
+            HashMap<ClientDomain, DefaultTenantClient> ret = new HashMap<>();
+            for(Map.Entry<Long, List<String>> entry : clientIdsByTenant.entrySet()){
+                logger.info("Loading {} tenant clients of tenant ({}) ...", entry.getValue().size(), entry.getKey());
+                Map<String, DefaultTenantClient> clients = tenantLoader.loadTenantClients(entry.getValue(), entry.getKey());
+                for(Map.Entry<String, DefaultTenantClient> client : clients.entrySet()){
+                    ret.put(new ClientDomain(client.getKey(), entry.getKey()), client.getValue());
+                }
+                logger.info("Loaded {} tenant clients of tenant ({})", clients.size(), entry.getKey());
+            }
+            return ret;
+        } catch (ErrorCodeException ece) {
+            throw ece;
+        } catch (Throwable t){
+            logger.error("Failed to load tenant clients for the client domains {}", clientDomains, t);
+            throw new ErrorCodeException(FAILED_TO_LOAD_TENANT_CLIENT_OF_DOMAIN, t, clientDomains);
+        }
+    }
+
+    @Override
+    protected ErrorCodeException sourceNotFound(ClientDomain clientDomain) {
+        return new ErrorCodeException(TENANT_CLIENT_NOT_FOUND, clientDomain.getClientId(), clientDomain.getTenantId());
+    }
+
     @Override
     protected void destroySource(DefaultTenantClient defaultTenantClient) {
         // do nothing
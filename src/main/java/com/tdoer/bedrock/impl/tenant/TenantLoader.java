@@ -22,8 +22,14 @@ import com.tdoer.bedrock.impl.definition.tenant.TenantDefinition;
 import com.tdoer.bedrock.impl.definition.tenant.TenantProductDefinition;
 import com.tdoer.bedrock.impl.product.DefaultProductRepository;
 import com.tdoer.bedrock.impl.provider.TenantProvider;
+import com.tdoer.springboot.error.ErrorCodeException;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import static com.tdoer.bedrock.impl.BedrockImplErrorCodes.PRODUCT_RENTAL_NOT_FOUND;
+import static com.tdoer.bedrock.impl.BedrockImplErrorCodes.TENANT_CLIENT_NOT_FOUND;
 /**
  * @author Htinker Hu (htinker@163.com)
  * @create 2017-09-19
@@ -72,8 +78,7 @@ public class TenantLoader {
     public DefaultTenantClient loadTenantClient(String clientId, Long tenantId){
         TenantClientDefinition definition = tenantProvider.getTenantClientDefinition(clientId, tenantId);
         if(definition == null){
-            // todo, throw exception
-            return null;
+            throw new ErrorCodeException(TENANT_CLIENT_NOT_FOUND, clientId, tenantId);
         }
 
         return tenantBuilder.buildTenantClient(definition);
@@ -82,12 +87,34 @@ public class TenantLoader {
     public DefaultProductRental loadProductRendtal(String productId, Long tenantId) {
         TenantProductDefinition definition = tenantProvider.getTenantProductDefinition(productId, tenantId);
         if(definition == null){
-            // todo, throw exception
+            throw new ErrorCodeException(PRODUCT_RENTAL_NOT_FOUND, productId, tenantId);
         }
 
         return tenantBuilder.buildProductRental(definition);
     }
 
+    public Map<String, DefaultProductRental> loadProductRentals(Long tenantId) {
+        List<TenantProductDefinition> list = tenantProvider.getTenantProductDefinitions(tenantId);
+        HashMap<String, DefaultProductRental> ret = new HashMap<>();
+        if(list != null){
+            for(TenantProductDefinition definition : list){
+                ret.put(definition.getProductId(), tenantBuilder.buildProductRental(definition));
+            }
+        }
+        return ret;
+    }
+
+    public Map<String, DefaultTenantClient> loadTenantClients(List<String> clientIds, Long tenantId){
+        List<TenantClientDefinition> list = tenantProvider.getTenantClientDefinitions(clientIds, tenantId);
+        HashMap<String, DefaultTenantClient> ret = new HashMap<>();
+        if(list != null){
+            for(TenantClientDefinition definition : list){
+                ret.put(definition.getClientId(), tenantBuilder.buildTenantClient(definition));
+            }
+        }
+        return ret;
+    }
+
     public String[] loadProductIds(Long tenantId){
         List<String> list = tenantProvider.getProductIds(tenantId);
         if(list == null || list.size() == 0){
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.cache;
+
+import com.tdoer.springboot.error.ErrorCodeException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.tdoer.bedrock.impl.BedrockImplErrorCodes.FAILED_TO_LOAD_SERVICE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks caching behaviours of {@link AbstractCacheManager}
+ *
+ * @create 2026-10-18
+ */
+public class AbstractCacheManagerTest {
+
+    private DormantCacheCleaner cleaner;
+
+    @Before
+    public void setUp() {
+        cleaner = new DormantCacheCleaner(new CachePolicy(1000, 60000, 60000));
+    }
+
+    @After
+    public void tearDown() {
+        cleaner.stop();
+    }
+
+    @Test
+    public void loadsConcurrentMissesOnce() throws Exception {
+        final TestCacheManager manager = newManager(new CachePolicy(1000, 60000, 60000));
+        manager.loadDelay = 200;
+
+        final ConcurrentLinkedQueue<String> sources = new ConcurrentLinkedQueue<>();
+        runConcurrently(16, new Runnable() {
+            @Override
+            public void run() {
+                sources.add(manager.getSource("key"));
+            }
+        });
+
+        assertEquals(1, manager.loads.get());
+        assertEquals(16, sources.size());
+        for(String source : sources){
+            assertEquals("source of key", source);
+        }
+    }
+    @Test
+    public void keepsHotKeysOnScan() {
+        CachePolicy policy = new CachePolicy(1000, 60000, 60000);
+        policy.setMaximumSize(100);
+        TestCacheManager manager = newManager(policy);
+
+        // 50 hot keys are requested all the time, along with 3 keys requested once each, LRU would keep none
+        for(int i = 0; i < 20000; i++){
+            manager.getSource("hot-" + (i % 50));
+            for(int j = 0; j < 3; j++){
+                manager.getSource("scan-" + (i * 3 + j));
+            }
+        }
+
+        Set<String> keys = new HashSet<>(manager.getKeys());
+        int kept = 0;
+        for(int i = 0; i < 50; i++){
+            if(keys.contains("hot-" + i)){
+                kept++;
+            }
+        }
+        assertTrue("Hot keys kept: " + kept, kept >= 45);
+        assertTrue("Cache size: " + manager.getCacheSize(), manager.getCacheSize() <= 100);
+    }
+
+    @Test
+    public void keepsSizeBoundWhileResizing() throws Exception {
+        CachePolicy policy = new CachePolicy(1000, 60000, 60000);
+        policy.setMaximumSize(100);
+        final TestCacheManager manager = newManager(policy);
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicBoolean running = new AtomicBoolean(true);
+
+        Thread resizer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while(running.get()){
+                    manager.resize(100);
+                }
+            }
+        });
+        resizer.start();
+        try{
+            runConcurrently(8, new Runnable() {
+                @Override
+                public void run() {
+                    for(int i = 0; i < 20000; i++){
+                        int key = next.incrementAndGet();
+                        manager.getSource("key-" + key);
+                        if(key % 7 == 0){
+                            manager.removeCacheEntity("key-" + (key - 3));
+                        }
+                    }
+                }
+            });
+        }finally{
+            running.set(false);
+            resizer.join();
+        }
+
+        assertTrue("Cache size: " + manager.getCacheSize(), manager.getCacheSize() <= 100);
+
+        // every key is tracked, so new keys keep evicting the old ones
+        for(int i = 0; i < 1000; i++){
+            manager.getSource("new-" + i);
+        }
+        assertTrue("Cache size: " + manager.getCacheSize(), manager.getCacheSize() <= 100);
+    }
+    @Test
+    public void servesStaleSourceOnReloadError() throws Exception {
+        CachePolicy policy = new CachePolicy(1000, 100, 60000);
+        policy.setStaleOnErrorGracePeriod(1000);
+        TestCacheManager manager = newManager(policy);
+
+        assertEquals("source of key", manager.getSource("key"));
+        Thread.sleep(200);
+
+        manager.failing = true;
+        assertEquals("source of key", manager.getSource("key"));
+        assertEquals(2, manager.loads.get());
+        assertEquals(1, manager.getStatistics().getStaleOnErrorCount());
+
+        // not retried within the grace period
+        assertEquals("source of key", manager.getSource("key"));
+        assertEquals(2, manager.loads.get());
+    }
+    @Test
+    public void cleansExpiredNullAndDormantEntities() throws Exception {
+        CachePolicy policy = new CachePolicy(1000, 60000, 300);
+        policy.setNegativeCacheDuration(100);
+        TestCacheManager manager = newManager(policy);
+
+        manager.getSource("cold");
+        manager.getSource("hot");
+        assertNull(manager.getSource("null"));
+
+        Thread.sleep(150);
+        assertTrue(manager.cleanDormantCache(1000));
+        assertFalse(manager.getKeys().contains("null"));
+        assertTrue(manager.getKeys().contains("cold"));
+
+        for(int i = 0; i < 5; i++){
+            Thread.sleep(100);
+            manager.getSource("hot");
+        }
+        assertTrue(manager.cleanDormantCache(1000));
+        assertFalse(manager.getKeys().contains("cold"));
+        assertTrue(manager.getKeys().contains("hot"));
+        assertTrue(manager.destroyed.contains("source of cold"));
+        assertFalse(manager.destroyed.contains("source of hot"));
+    }
+
+    private TestCacheManager newManager(CachePolicy policy) {
+        TestCacheManager manager = new TestCacheManager(policy, cleaner);
+        manager.initialize();
+        return manager;
+    }
+
+    /**
+     * Run the task in the given number of threads, started at the same time, and rethrow the first failure
+     */
+    private static void runConcurrently(int threads, final Runnable task) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> list = new ArrayList<>();
+        for(int i = 0; i < threads; i++){
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try{
+                        start.await();
+                        task.run();
+                    }catch(Throwable t){
+                        failures.add(t);
+                    }
+                }
+            });
+            thread.start();
+            list.add(thread);
+        }
+
+        start.countDown();
+        for(Thread thread : list){
+            thread.join();
+        }
+        if(!failures.isEmpty()){
+            throw new AssertionError(failures.peek());
+        }
+    }
+
+    private static class TestCacheManager extends AbstractCacheManager<String, String> {
+        private final AtomicInteger loads = new AtomicInteger();
+
+        private final ConcurrentLinkedQueue<String> destroyed = new ConcurrentLinkedQueue<>();
+
+        private volatile long loadDelay;
+
+        private volatile boolean failing;
+
+        TestCacheManager(CachePolicy cachePolicy, DormantCacheCleaner cleaner) {
+            super(cachePolicy, cleaner);
+        }
+
+        @Override
+        protected String loadSource(String key) throws ErrorCodeException {
+            loads.incrementAndGet();
+            if(loadDelay > 0){
+                try{
+                    Thread.sleep(loadDelay);
+                }catch(InterruptedException ex){
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if(failing){
+                throw new ErrorCodeException(FAILED_TO_LOAD_SERVICE, key);
+            }
+            return "null".equals(key) ? null : "source of " + key;
+        }
+
+        @Override
+        protected String reloadSource(String key, String oldSource) throws ErrorCodeException {
+            return loadSource(key);
+        }
+
+        @Override
+        protected void destroySource(String source) {
+            destroyed.add(source);
+        }
+    }
+}
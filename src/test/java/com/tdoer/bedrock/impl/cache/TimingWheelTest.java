@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.cache;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks {@link TimingWheel} polls keys once they are due, and only then
+ *
+ * @create 2026-10-18
+ */
+public class TimingWheelTest {
+
+    @Test
+    public void pollsDueKeys() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 8, 0);
+        wheel.schedule("a", 1500);
+        wheel.schedule("b", 2500);
+        // in the slot of "a", two rounds later
+        wheel.schedule("later", 1500 + 2 * 8 * 1000);
+
+        assertEquals(new ArrayList<String>(), poll(wheel, 1400));
+        assertEquals(Arrays.asList("a"), poll(wheel, 1600));
+        assertEquals(Arrays.asList("b"), poll(wheel, 3000));
+        assertEquals(new ArrayList<String>(), poll(wheel, 1500 + 8 * 1000));
+        assertEquals(Arrays.asList("later"), poll(wheel, 1500 + 2 * 8 * 1000));
+    }
+
+    @Test
+    public void pollsPassedDeadlinesAtNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 8, 5000);
+        wheel.schedule("passed", 1000);
+
+        assertEquals(Arrays.asList("passed"), poll(wheel, 5000));
+    }
+
+    @Test
+    public void skipsCancelledAndMovedKeys() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 8, 0);
+        wheel.schedule("cancelled", 1500);
+        wheel.schedule("moved", 1500);
+        wheel.cancel("cancelled");
+        wheel.schedule("moved", 4500);
+
+        assertEquals(new ArrayList<String>(), poll(wheel, 2000));
+        assertEquals(Arrays.asList("moved"), poll(wheel, 5000));
+    }
+
+    @Test
+    public void pollsInBatches() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 8, 0);
+        for(int i = 0; i < 5; i++){
+            wheel.schedule("k" + i, 1500);
+        }
+
+        List<String> due = new ArrayList<>();
+        assertFalse(wheel.poll(2000, 3, due));
+        assertEquals(3, due.size());
+        assertTrue(wheel.poll(2000, 3, due));
+        assertEquals(5, due.size());
+    }
+
+    private static List<String> poll(TimingWheel<String> wheel, long now) {
+        List<String> due = new ArrayList<>();
+        assertTrue(wheel.poll(now, Integer.MAX_VALUE, due));
+        return due;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.service;
+
+import com.tdoer.bedrock.impl.definition.service.ServiceMethodDefinition;
+import com.tdoer.bedrock.service.ServiceMethod;
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks {@link ServiceMethodRouteIndex} matches requests the same as {@link AntPathMatcher} does
+ *
+ * @create 2026-10-18
+ */
+public class ServiceMethodRouteIndexTest {
+
+    private static final String[] PATTERN_SEGMENTS = {"a", "b", "c", "*", "**", "{id}", "x*.json", "{n:\\d+}", "1"};
+
+    private static final String[] PATH_SEGMENTS = {"a", "b", "c", "1", "22", "x1.json"};
+
+    private static final String[] HTTP_METHODS = {"GET", "POST", null};
+
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+    @Test
+    public void matchesTrailingWildcardAfterTrailingSlash() {
+        List<DefaultServiceMethod> methods = new ArrayList<>();
+        methods.add(method(1L, "GET", "/a/*"));
+        ServiceMethodRouteIndex index = new ServiceMethodRouteIndex(methods);
+
+        assertNotNull(index.match("GET", "/a/"));
+        assertNotNull(index.match("GET", "/a/b"));
+        assertNull(index.match("GET", "/a"));
+        assertNull(index.match("POST", "/a/"));
+    }
+
+    @Test
+    public void matchesAsAntPathMatcher() {
+        Random random = new Random(20261018L);
+        for(int round = 0; round < 500; round++){
+            List<DefaultServiceMethod> methods = new ArrayList<>();
+            for(int i = 0; i < 30; i++){
+                methods.add(method((long) i, HTTP_METHODS[random.nextInt(HTTP_METHODS.length)], randomPath(random, PATTERN_SEGMENTS, 4)));
+            }
+            ServiceMethodRouteIndex index = new ServiceMethodRouteIndex(methods);
+
+            for(int q = 0; q < 100; q++){
+                String httpMethod = HTTP_METHODS[random.nextInt(2)];
+                String path = randomPath(random, PATH_SEGMENTS, 5);
+
+                Set<ServiceMethod> expected = new HashSet<>();
+                for(DefaultServiceMethod method : methods){
+                    HttpMethod hm = method.getHttpMethod();
+                    if((hm == null || hm.matches(httpMethod)) && antPathMatcher.match(method.getURI(), path)){
+                        expected.add(method);
+                    }
+                }
+
+                List<ServiceMethod> matched = new ArrayList<>();
+                index.listMatches(httpMethod, path, matched);
+                String request = httpMethod + " " + path;
+                assertEquals(request, expected, new HashSet<>(matched));
+                assertEquals(request, expected.size(), matched.size());
+                assertEquals(request, expected.isEmpty(), index.match(httpMethod, path) == null);
+            }
+        }
+    }
+
+    private static String randomPath(Random random, String[] segments, int maxSegments) {
+        StringBuilder sb = new StringBuilder();
+        int count = random.nextInt(maxSegments + 1);
+        for(int i = 0; i < count; i++){
+            sb.append('/').append(segments[random.nextInt(segments.length)]);
+        }
+        if(sb.length() == 0 || random.nextInt(5) == 0){
+            sb.append('/');
+        }
+        return sb.toString();
+    }
+
+    private static DefaultServiceMethod method(Long id, String httpMethod, String uri) {
+        ServiceMethodDefinition definition = new ServiceMethodDefinition();
+        definition.setId(id);
+        definition.setMethod(httpMethod);
+        definition.setUri(uri);
+        return new DefaultServiceMethod(definition, null);
+    }
+}
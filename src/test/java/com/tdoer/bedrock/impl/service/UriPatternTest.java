@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017-2019 T-Doer (tdoer.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tdoer.bedrock.impl.service;
+
+import org.junit.Test;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks {@link UriPattern} matches paths the same as {@link AntPathMatcher} does
+ *
+ * @create 2026-10-18
+ */
+public class UriPatternTest {
+
+    private static final String[] PATTERN_SEGMENTS = {"a", "b", "*", "{id}", "**", "x*.json", "{n:\\d+}", "1", ""};
+
+    private static final String[] PATH_SEGMENTS = {"a", "b", "1", "x1.json", "22", ""};
+
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+    @Test
+    public void matchesSpecialCases() {
+        check("/a/*", "/a/");
+        check("/a/*", "/a");
+        check("/a/**", "/a");
+        check("/a/", "/a");
+        check("/a", "/a/");
+        check("a/b", "/a/b");
+        check("/a/{id}", "/a/1");
+        check("/a/{n:\\d+}", "/a/b");
+        check("/**", "/");
+    }
+
+    @Test
+    public void matchesAsAntPathMatcher() {
+        Random random = new Random(20261018L);
+        for(int i = 0; i < 200000; i++){
+            check(randomPath(random, PATTERN_SEGMENTS, 3, 6), randomPath(random, PATH_SEGMENTS, 4, 5));
+        }
+    }
+
+    private void check(String pattern, String path) {
+        assertEquals("'" + pattern + "' against '" + path + "'", antPathMatcher.match(pattern, path), new UriPattern(pattern).match(path));
+    }
+
+    private static String randomPath(Random random, String[] segments, int maxSegments, int trailingSlash) {
+        StringBuilder sb = new StringBuilder();
+        if(random.nextInt(10) > 0){
+            sb.append('/');
+        }
+        int count = random.nextInt(maxSegments + 1);
+        for(int i = 0; i < count; i++){
+            if(i > 0){
+                sb.append('/');
+            }
+            sb.append(segments[random.nextInt(segments.length)]);
+        }
+        if(random.nextInt(trailingSlash) == 0){
+            sb.append('/');
+        }
+        return sb.toString();
+    }
+}